@@ -0,0 +1,157 @@
+package com.tcsion.backend.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded, TTL-expiring LRU of ML category predictions keyed by the
+ * description normalized the way the ML service's {@code clean_text} does,
+ * so "UBER *TRIP" and "uber trip" share one entry.
+ *
+ * <p>With {@code cache.classification.persist} on, new entries are also
+ * collected for {@code ClassificationCacheStore} to write to the
+ * classification_cache table and reload after a restart.
+ */
+@Component
+public class ClassificationCache {
+
+    /** Longer keys are not cached; they are unlikely to repeat and the table column is bounded. */
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final Pattern NON_ASCII = Pattern.compile("[^\\p{ASCII}]");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9\\s]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final boolean persist;
+    private final Clock clock;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Entry> unsaved = new LinkedHashMap<>();
+
+    private long hits;
+    private long misses;
+
+    public record Entry(String category, Instant classifiedAt) {
+    }
+
+    public ClassificationCache(
+            @Value("${cache.classification.max-entries:50000}") int maxEntries,
+            @Value("${cache.classification.ttl:P7D}") Duration ttl,
+            @Value("${cache.classification.persist:false}") boolean persist,
+            MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.persist = persist;
+        this.clock = Clock.systemUTC();
+
+        FunctionCounter.builder("cache.classification.hits", this, ClassificationCache::getHits)
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.classification.misses", this, ClassificationCache::getMisses)
+                .register(meterRegistry);
+        Gauge.builder("cache.classification.hit-ratio", this, ClassificationCache::getHitRatio)
+                .description("Share of classifications answered without calling the ML service")
+                .register(meterRegistry);
+        Gauge.builder("cache.classification.size", this, ClassificationCache::size)
+                .register(meterRegistry);
+    }
+
+    /** Python's {@code clean_text}: lower-case, ASCII-fold, punctuation to spaces, collapse whitespace. */
+    public static String normalize(String description) {
+        if (description == null) {
+            return "";
+        }
+        String text = description.toLowerCase(Locale.ROOT).strip();
+        text = NON_ASCII.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("");
+        text = NON_ALPHANUMERIC.matcher(text).replaceAll(" ");
+        return WHITESPACE.matcher(text).replaceAll(" ").strip();
+    }
+
+    /** The cached category for a normalized key, or null. */
+    public synchronized String get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.classifiedAt().plus(ttl).isAfter(clock.instant())) {
+            hits++;
+            return entry.category();
+        }
+        if (entry != null) {
+            entries.remove(key);
+        }
+        misses++;
+        return null;
+    }
+
+    public synchronized void put(String key, String category) {
+        if (key.length() > MAX_KEY_LENGTH || category == null) {
+            return;
+        }
+        Entry entry = new Entry(category, clock.instant());
+        entries.put(key, entry);
+        if (persist) {
+            unsaved.put(key, entry);
+        }
+        trimToSize();
+    }
+
+    /** Restores a persisted entry without marking it for saving again. */
+    public synchronized void restore(String key, Entry entry) {
+        if (entry.classifiedAt().plus(ttl).isAfter(clock.instant())) {
+            entries.putIfAbsent(key, entry);
+            trimToSize();
+        }
+    }
+
+    /** Entries added since the last call, for the persistent store. */
+    public synchronized Map<String, Entry> drainUnsaved() {
+        Map<String, Entry> drained = new LinkedHashMap<>(unsaved);
+        unsaved.clear();
+        return drained;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void trimToSize() {
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.tcsion.backend.cache;
+
+import com.tcsion.backend.dto.response.DashboardResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-user snapshots of the dashboard overview and health score. Any
+ * transaction or budget write for a user evicts that user's entries once the
+ * write commits.
+ */
+@Component
+public class DashboardCache {
+
+    private final UserMonthCache<DashboardResponse> overviews;
+    private final UserMonthCache<Map<String, Object>> healthScores;
+    private final UserMonthCache<NavigableMap<YearMonth, Integer>> healthHistories;
+
+    public DashboardCache(
+            @Value("${cache.dashboard.max-users:10000}") int maxUsers,
+            @Value("${cache.dashboard.ttl:PT10M}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.overviews = new UserMonthCache<>("dashboard.overview", maxUsers, ttl);
+        this.healthScores = new UserMonthCache<>("analytics.health-score", maxUsers, ttl);
+        // Only writes to completed months change it (see evictHealthHistory), so it outlives the month's TTL
+        this.healthHistories = new UserMonthCache<>("analytics.health-history", maxUsers, Duration.ofDays(62));
+        bindMetrics(overviews, meterRegistry);
+        bindMetrics(healthScores, meterRegistry);
+        bindMetrics(healthHistories, meterRegistry);
+    }
+
+    /**
+     * Partial overviews (a section missed its deadline) are never cached, so
+     * the next request gets another chance at a complete page.
+     */
+    public DashboardResponse overview(Long userId, YearMonth month, Supplier<DashboardResponse> loader) {
+        return overviews.get(userId, month, loader, response -> !Boolean.TRUE.equals(response.getPartial()));
+    }
+
+    public Map<String, Object> healthScore(Long userId, YearMonth month, Supplier<Map<String, Object>> loader) {
+        return healthScores.get(userId, month, loader);
+    }
+
+    /** Scores of the completed months up to and including {@code lastCompleted}. */
+    public NavigableMap<YearMonth, Integer> healthHistory(Long userId, YearMonth lastCompleted,
+            Supplier<NavigableMap<YearMonth, Integer>> loader) {
+        return healthHistories.get(userId, lastCompleted, loader);
+    }
+
+    /**
+     * Drops everything cached for the user except completed-month history.
+     * Inside a transaction the eviction is deferred until commit so a
+     * concurrent read cannot re-cache the pre-write state.
+     */
+    public void evictUser(Long userId) {
+        afterCommit(() -> evictNow(userId));
+    }
+
+    /** Drops the user's completed-month history after a write to a past month, deferred like {@link #evictUser}. */
+    public void evictHealthHistory(Long userId) {
+        afterCommit(() -> healthHistories.evictUser(userId));
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private void evictNow(Long userId) {
+        overviews.evictUser(userId);
+        healthScores.evictUser(userId);
+    }
+
+    private static void bindMetrics(UserMonthCache<?> cache, MeterRegistry registry) {
+        FunctionCounter.builder("cache.user.hits", cache, UserMonthCache::getHits)
+                .tag("cache", cache.getName())
+                .register(registry);
+        FunctionCounter.builder("cache.user.misses", cache, UserMonthCache::getMisses)
+                .tag("cache", cache.getName())
+                .register(registry);
+        FunctionCounter.builder("cache.user.evictions", cache, UserMonthCache::getEvictions)
+                .tag("cache", cache.getName())
+                .register(registry);
+        Gauge.builder("cache.user.size", cache, UserMonthCache::getUserCount)
+                .tag("cache", cache.getName())
+                .register(registry);
+    }
+}
@@ -0,0 +1,136 @@
+package com.tcsion.backend.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-expiring cache of per-user, per-month values. Entries are
+ * grouped by user so a write can drop everything cached for that user in one
+ * step; the least recently used users are evicted once {@code maxUsers} is
+ * reached.
+ */
+public class UserMonthCache<V> {
+
+    private final String name;
+    private final int maxUsers;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final LinkedHashMap<Long, UserEntries<V>> users = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hits;
+    private long misses;
+    private long sizeEvictions;
+    private long expirations;
+    private long invalidations;
+
+    public UserMonthCache(String name, int maxUsers, Duration ttl) {
+        this(name, maxUsers, ttl, Clock.systemUTC());
+    }
+
+    UserMonthCache(String name, int maxUsers, Duration ttl, Clock clock) {
+        this.name = name;
+        this.maxUsers = maxUsers;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public V get(Long userId, YearMonth month, Supplier<V> loader) {
+        return get(userId, month, loader, value -> true);
+    }
+
+    /**
+     * Returns the cached value or computes it with {@code loader} outside the
+     * lock. A value computed while the user was being invalidated, or one
+     * rejected by {@code cacheable}, is returned to the caller but not stored.
+     */
+    public V get(Long userId, YearMonth month, Supplier<V> loader, Predicate<V> cacheable) {
+        UserEntries<V> entries;
+        long generation;
+        synchronized (this) {
+            // Create the user's entry up front so an invalidation during the load is recorded on it
+            entries = users.computeIfAbsent(userId, id -> new UserEntries<>());
+            Timed<V> timed = entries.values.get(month);
+            if (timed != null) {
+                if (timed.expiresAt > clock.millis()) {
+                    hits++;
+                    return timed.value;
+                }
+                entries.values.remove(month);
+                expirations++;
+            }
+            misses++;
+            generation = entries.generation;
+            trimToSize();
+        }
+
+        V value = loader.get();
+        if (!cacheable.test(value)) {
+            return value;
+        }
+
+        synchronized (this) {
+            // Store only into the same entry, unchanged: a trimmed or invalidated user may hold a stale value
+            if (users.get(userId) == entries && entries.generation == generation) {
+                entries.values.put(month, new Timed<>(value, clock.millis() + ttl.toMillis()));
+            }
+        }
+        return value;
+    }
+
+    public synchronized void evictUser(Long userId) {
+        UserEntries<V> entries = users.get(userId);
+        if (entries != null) {
+            invalidations += entries.values.size();
+            entries.values.clear();
+            entries.generation++;
+        }
+    }
+
+    public synchronized void clear() {
+        users.clear();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return sizeEvictions + expirations + invalidations;
+    }
+
+    public synchronized int getUserCount() {
+        return users.size();
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<Long, UserEntries<V>>> it = users.entrySet().iterator();
+        while (users.size() > maxUsers && it.hasNext()) {
+            sizeEvictions += it.next().getValue().values.size();
+            it.remove();
+        }
+    }
+
+    private static final class UserEntries<V> {
+        private final Map<YearMonth, Timed<V>> values = new HashMap<>(4);
+        private long generation;
+    }
+
+    private record Timed<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.tcsion.backend.controller;
+
+import com.tcsion.backend.dto.response.ApiResponse;
+import com.tcsion.backend.dto.response.BudgetAlertResponse;
+import com.tcsion.backend.security.CurrentUser;
+import com.tcsion.backend.service.BudgetAlertService;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/alerts")
+@RequiredArgsConstructor
+
+public class AlertController {
+
+    private final BudgetAlertService budgetAlertService;
+
+    @GetMapping
+
+    public ResponseEntity<ApiResponse<List<BudgetAlertResponse>>> list(
+            @CurrentUser Long userId,
+            @RequestParam(required = false) YearMonth month) {
+        YearMonth target = month != null ? month : YearMonth.now();
+        List<BudgetAlertResponse> alerts = budgetAlertService.getFeed(userId, target);
+        return ResponseEntity.ok(ApiResponse.success("OK", alerts));
+    }
+}
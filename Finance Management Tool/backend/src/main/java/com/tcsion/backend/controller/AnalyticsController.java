@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -20,12 +21,24 @@ public class AnalyticsController {
     private final AnalyticsService analyticsService;
 
     @GetMapping("/budget-recommendations")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getBudgetRecommendations(@CurrentUser Long userId) {
-        return ResponseEntity.ok(ApiResponse.success("success", analyticsService.getBudgetRecommendations(userId)));
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getBudgetRecommendations(
+            @CurrentUser Long userId,
+            @RequestParam(defaultValue = "" + AnalyticsService.DEFAULT_LOOKBACK_MONTHS) int lookbackMonths,
+            @RequestParam(defaultValue = "" + AnalyticsService.DEFAULT_RECENT_MONTHS) int recentMonths) {
+        return ResponseEntity.ok(ApiResponse.success("success",
+                analyticsService.getBudgetRecommendations(userId, lookbackMonths, recentMonths)));
     }
 
     @GetMapping("/health-score")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getHealthScore(@CurrentUser Long userId) {
         return ResponseEntity.ok(ApiResponse.success("success", analyticsService.getFinancialHealthScore(userId)));
     }
+
+    @GetMapping("/health-score/history")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getHealthScoreHistory(
+            @CurrentUser Long userId,
+            @RequestParam(defaultValue = "" + AnalyticsService.DEFAULT_HISTORY_MONTHS) int months) {
+        return ResponseEntity.ok(ApiResponse.success("success",
+                analyticsService.getHealthScoreHistory(userId, months)));
+    }
 }
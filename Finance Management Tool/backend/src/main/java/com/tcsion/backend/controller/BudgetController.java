@@ -1,6 +1,7 @@
 package com.tcsion.backend.controller;
 
 import com.tcsion.backend.dto.request.BudgetRequest;
+import com.tcsion.backend.dto.request.BulkBudgetRequest;
 import com.tcsion.backend.dto.response.ApiResponse;
 import com.tcsion.backend.dto.response.BudgetResponse;
 import com.tcsion.backend.entity.User;
@@ -14,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.time.YearMonth;
 import java.util.List;
 
@@ -31,12 +33,20 @@ public class BudgetController {
     public ResponseEntity<ApiResponse<BudgetResponse>> create(
             @CurrentUser Long userId,
             @Valid @RequestBody BudgetRequest request) {
-        User user = userRepository.findById(userId).orElseThrow();
-        BudgetResponse response = budgetService.create(userId, request, user);
+        BudgetResponse response = budgetService.create(userId, request);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Budget created successfully", response));
     }
 
+    @PostMapping("/bulk")
+
+    public ResponseEntity<ApiResponse<List<BudgetResponse>>> upsertMonth(
+            @CurrentUser Long userId,
+            @Valid @RequestBody BulkBudgetRequest request) {
+        List<BudgetResponse> list = budgetService.upsertMonth(userId, request);
+        return ResponseEntity.ok(ApiResponse.success("Budgets saved successfully", list));
+    }
+
     @GetMapping
 
     public ResponseEntity<ApiResponse<List<BudgetResponse>>> list(@CurrentUser Long userId) {
@@ -54,6 +64,17 @@ public class BudgetController {
         return ResponseEntity.ok(ApiResponse.success("OK", list));
     }
 
+    @PostMapping("/rollover")
+
+    public ResponseEntity<ApiResponse<List<BudgetResponse>>> rollover(
+            @CurrentUser Long userId,
+            @RequestParam(required = false) YearMonth from,
+            @RequestParam(required = false) BigDecimal adjustPercent) {
+        YearMonth source = from != null ? from : YearMonth.now().minusMonths(1);
+        List<BudgetResponse> list = budgetService.rollover(userId, source, adjustPercent);
+        return ResponseEntity.ok(ApiResponse.success("Budgets rolled over to " + source.plusMonths(1), list));
+    }
+
     @GetMapping("/{id}")
 
     public ResponseEntity<ApiResponse<BudgetResponse>> getById(@CurrentUser Long userId, @PathVariable Long id) {
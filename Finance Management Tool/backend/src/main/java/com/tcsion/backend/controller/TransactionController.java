@@ -1,11 +1,18 @@
 package com.tcsion.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tcsion.backend.dto.request.TransactionRequest;
 import com.tcsion.backend.dto.response.ApiResponse;
+import com.tcsion.backend.dto.response.BatchCreateResponse;
+import com.tcsion.backend.dto.response.CategorySuggestion;
+import com.tcsion.backend.dto.response.CursorPage;
+import com.tcsion.backend.dto.response.ImportResultResponse;
 import com.tcsion.backend.dto.response.TransactionResponse;
 import com.tcsion.backend.entity.User;
 import com.tcsion.backend.repository.UserRepository;
 import com.tcsion.backend.security.CurrentUser;
+import com.tcsion.backend.service.TransactionExportService;
+import com.tcsion.backend.service.TransactionImportService;
 import com.tcsion.backend.service.TransactionService;
 
 import jakarta.validation.Valid;
@@ -13,11 +20,22 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -26,7 +44,10 @@ import java.time.LocalDate;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
+    private final TransactionExportService transactionExportService;
     private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
 
@@ -39,6 +60,59 @@ public class TransactionController {
                 .body(ApiResponse.success("Transaction created successfully", response));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchCreateResponse>> createBatch(
+            @CurrentUser Long userId,
+            @RequestBody List<TransactionRequest> requests) {
+        BatchCreateResponse response = transactionService.createBatch(userId, requests);
+        return ResponseEntity.status(response.getCreated() > 0 ? HttpStatus.CREATED : HttpStatus.OK)
+                .body(ApiResponse.success("Batch processed", response));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<ImportResultResponse>> importCsv(
+            @CurrentUser Long userId,
+            @RequestParam("file") MultipartFile file) throws IOException {
+        ImportResultResponse result;
+        try (InputStream in = file.getInputStream()) {
+            result = transactionImportService.importCsv(userId, in);
+        }
+        return ResponseEntity.ok(ApiResponse.success("Import completed", result));
+    }
+
+    /**
+     * The import with progress: one NDJSON line of running counts after every
+     * chunk, then the same response the plain endpoint returns.
+     */
+    @PostMapping(value = "/import/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StreamingResponseBody> importCsvWithProgress(
+            @CurrentUser Long userId,
+            @RequestParam("file") MultipartFile file) {
+        StreamingResponseBody body = out -> {
+            try (InputStream in = file.getInputStream()) {
+                ImportResultResponse result = transactionImportService.importCsv(userId, in,
+                        progress -> writeLine(out, Map.of("progress", Map.of(
+                                "totalRows", progress.getTotalRows(),
+                                "imported", progress.getImported(),
+                                "failed", progress.getFailed()))));
+                writeLine(out, ApiResponse.success("Import completed", result));
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @GetMapping
 
     public ResponseEntity<ApiResponse<Page<TransactionResponse>>> list(
@@ -50,6 +124,62 @@ public class TransactionController {
         return ResponseEntity.ok(ApiResponse.success("OK", page));
     }
 
+    /**
+     * Cursor mode of the list endpoint, selected by the presence of
+     * {@code cursor} (empty for the first page).
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<TransactionResponse>>> listByCursor(
+            @CurrentUser Long userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        int pageSize = Math.max(1, Math.min(size, 100));
+        CursorPage<TransactionResponse> page = transactionService.listByCursor(userId, cursor, pageSize);
+        return ResponseEntity.ok(ApiResponse.success("OK", page));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<Page<TransactionResponse>>> search(
+            @CurrentUser Long userId,
+            @RequestParam("q") String query,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) Long categoryId,
+            Pageable pageable) {
+        Page<TransactionResponse> page = transactionService.search(userId, query, start, end, categoryId, pageable);
+        return ResponseEntity.ok(ApiResponse.success("OK", page));
+    }
+
+    @GetMapping("/suggest-category")
+    public ResponseEntity<ApiResponse<CategorySuggestion>> suggestCategory(
+            @CurrentUser Long userId,
+            @RequestParam String description) {
+        return ResponseEntity.ok(ApiResponse.success("OK",
+                transactionService.suggestCategory(userId, description).orElse(null)));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @CurrentUser Long userId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        TransactionExportService.Format exportFormat = switch (format.toLowerCase(Locale.ROOT)) {
+            case "csv" -> TransactionExportService.Format.CSV;
+            case "ndjson" -> TransactionExportService.Format.NDJSON;
+            default -> throw new com.tcsion.backend.exception.BadRequestException("Unsupported export format: " + format);
+        };
+        MediaType contentType = exportFormat == TransactionExportService.Format.CSV
+                ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                : MediaType.parseMediaType("application/x-ndjson");
+        String filename = "transactions." + exportFormat.name().toLowerCase(Locale.ROOT);
+        StreamingResponseBody body = out -> transactionExportService.export(userId, exportFormat, start, end, out);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
 
     public ResponseEntity<ApiResponse<TransactionResponse>> getById(@CurrentUser Long userId, @PathVariable Long id) {
@@ -0,0 +1,14 @@
+package com.tcsion.backend.dto.projection;
+
+/**
+ * A transaction description with the category the user filed it under, as
+ * training data for the in-process classifier.
+ */
+public interface CategorizedDescription {
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    String getDescription();
+}
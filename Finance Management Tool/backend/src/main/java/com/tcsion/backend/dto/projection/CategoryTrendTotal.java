@@ -0,0 +1,18 @@
+package com.tcsion.backend.dto.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * One category's expense over a look-back window, split into the recent
+ * months and the months before them.
+ */
+public interface CategoryTrendTotal {
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    BigDecimal getRecentTotal();
+
+    BigDecimal getPastTotal();
+}
@@ -0,0 +1,11 @@
+package com.tcsion.backend.dto.projection;
+
+/**
+ * A stored monthly health score; {@code scoreMonth} is 'yyyy-MM'.
+ */
+public interface HealthScorePoint {
+
+    String getScoreMonth();
+
+    Integer getScore();
+}
@@ -0,0 +1,17 @@
+package com.tcsion.backend.dto.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Income and expense totals for one user in one month.
+ */
+public interface IncomeExpenseTotal {
+
+    Long getUserId();
+
+    String getYearMonth();
+
+    BigDecimal getIncome();
+
+    BigDecimal getExpenses();
+}
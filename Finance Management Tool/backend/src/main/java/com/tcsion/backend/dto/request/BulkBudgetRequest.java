@@ -0,0 +1,40 @@
+package com.tcsion.backend.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkBudgetRequest {
+
+    @NotNull(message = "Budget month is required")
+    @com.fasterxml.jackson.annotation.JsonFormat(pattern = "yyyy-MM")
+    private YearMonth budgetMonth;
+
+    @NotEmpty(message = "At least one budget is required")
+    @Size(max = 200)
+    private List<@Valid @NotNull Item> budgets;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @NotNull(message = "Category is required")
+        private Long categoryId;
+
+        @NotNull(message = "Limit amount is required")
+        @DecimalMin(value = "0.01", message = "Limit must be greater than 0")
+        @Digits(integer = 13, fraction = 2)
+        private BigDecimal limitAmount;
+    }
+}
@@ -0,0 +1,25 @@
+package com.tcsion.backend.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCreateResponse {
+
+    private int created;
+    private int failed;
+    private List<ItemResult> results; // One per request item, in request order
+
+    @Getter
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private TransactionResponse transaction; // Null when the item was rejected
+        private String error;
+    }
+}
@@ -0,0 +1,27 @@
+package com.tcsion.backend.dto.response;
+
+import com.tcsion.backend.entity.BudgetAlert;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.YearMonth;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetAlertResponse {
+
+    private Long id;
+    private BudgetAlert.AlertType type;
+    private YearMonth alertMonth;
+    private Long categoryId;
+    private String categoryName;
+    private BigDecimal limitAmount;
+    private BigDecimal spentAmount;
+    private BigDecimal projectedAmount;
+    private String message;
+    private Instant evaluatedAt;
+}
@@ -0,0 +1,21 @@
+package com.tcsion.backend.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategorySuggestion {
+
+    public enum Source {
+        LOCAL, ML
+    }
+
+    private Long categoryId;
+    private String categoryName;
+    // Only the local model reports a confidence
+    private Double confidence;
+    private Source source;
+}
@@ -0,0 +1,18 @@
+package com.tcsion.backend.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+
+    private List<T> content;
+    private String nextCursor; // Opaque; null on the last page
+    private boolean hasMore;
+    private int size;
+}
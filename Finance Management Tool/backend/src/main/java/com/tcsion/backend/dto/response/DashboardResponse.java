@@ -20,4 +20,6 @@ public class DashboardResponse {
     private List<Map<String, Object>> spendingByCategory;
     private List<Map<String, Object>> monthlyTrends;
     private List<String> alerts; // New field for predictive alerts
+    private Boolean partial; // True when a section missed its deadline and was left empty
+    private List<String> degradedSections;
 }
@@ -0,0 +1,28 @@
+package com.tcsion.backend.dto.response;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportResultResponse {
+
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private long durationMs;
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>(); // Capped; see failed for the full count
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        private long row;
+        private String message;
+    }
+}
@@ -0,0 +1,61 @@
+package com.tcsion.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.YearMonth;
+
+/**
+ * A budget alert as last evaluated by {@code BudgetAlertService}. The set of
+ * rows for a (user, month) is replaced whenever the evaluation result changes.
+ */
+@Entity
+@Table(name = "budget_alerts", indexes = {
+    @Index(name = "idx_budget_alert_user_month", columnList = "user_id, alert_month")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "alert_month", nullable = false)
+    private YearMonth alertMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private AlertType type;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "category_name", nullable = false, length = 100)
+    private String categoryName;
+
+    @Column(name = "limit_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal limitAmount;
+
+    @Column(name = "spent_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal spentAmount;
+
+    @Column(name = "projected_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal projectedAmount;
+
+    @Column(name = "evaluated_at", nullable = false)
+    private Instant evaluatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    public enum AlertType {
+        PROJECTED_OVERSPEND, OVER_BUDGET
+    }
+}
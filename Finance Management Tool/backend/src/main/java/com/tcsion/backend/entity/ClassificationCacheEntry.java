@@ -0,0 +1,33 @@
+package com.tcsion.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A persisted ML category prediction for a normalized description, written
+ * by {@code ClassificationCacheStore} so the classification cache survives
+ * restarts.
+ */
+@Entity
+@Table(name = "classification_cache", indexes = {
+    @Index(name = "idx_classification_cache_classified_at", columnList = "classified_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClassificationCacheEntry {
+
+    @Id
+    @Column(name = "description_key", length = 255)
+    private String descriptionKey;
+
+    @Column(nullable = false, length = 100)
+    private String category;
+
+    @Column(name = "classified_at", nullable = false)
+    private Instant classifiedAt;
+}
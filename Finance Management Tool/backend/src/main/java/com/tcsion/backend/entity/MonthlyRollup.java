@@ -0,0 +1,49 @@
+package com.tcsion.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Running per-(user, month, category, type) totals of non-deleted transactions.
+ * Kept current by {@code TransactionService} writes and rebuildable from the
+ * transactions table.
+ */
+@Entity
+@Table(name = "monthly_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_monthly_rollup_bucket", columnNames = {"user_id", "year_month", "category_id", "type"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "year_month", nullable = false)
+    private YearMonth yearMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Category.TransactionType type;
+
+    @Column(name = "sum_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal sumAmount;
+
+    @Column(name = "txn_count", nullable = false)
+    private Long txnCount;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+}
@@ -0,0 +1,21 @@
+package com.tcsion.backend.repository;
+
+import com.tcsion.backend.entity.BudgetAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Repository
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, Long> {
+
+    List<BudgetAlert> findByUserIdAndAlertMonthOrderByIdAsc(Long userId, YearMonth alertMonth);
+
+    @Modifying
+    @Query("DELETE FROM BudgetAlert a WHERE a.user.id = :userId AND a.alertMonth = :month")
+    int deleteByUserIdAndMonth(@Param("userId") Long userId, @Param("month") YearMonth month);
+}
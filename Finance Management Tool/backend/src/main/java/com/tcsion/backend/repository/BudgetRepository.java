@@ -2,16 +2,18 @@ package com.tcsion.backend.repository;
 
 import com.tcsion.backend.entity.Budget;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BudgetRepository extends JpaRepository<Budget, Long> {
+public interface BudgetRepository extends JpaRepository<Budget, Long>, BudgetRepositoryCustom {
 
     List<Budget> findByUserId(Long userId);
 
@@ -20,5 +22,65 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     @Query("SELECT b FROM Budget b WHERE b.user.id = :userId AND b.budgetMonth = :month")
     List<Budget> findByUserIdAndMonth(@Param("userId") Long userId, @Param("month") YearMonth month);
 
+    // Each row is {Budget, spent}: the budget with its category fetched, joined to the expense
+    // rollup bucket for the same month and category; spent is null when nothing has been spent
+    String WITH_SPENT = "SELECT b, r.sumAmount FROM Budget b JOIN FETCH b.category c " +
+        "LEFT JOIN MonthlyRollup r ON r.user.id = b.user.id AND r.yearMonth = b.budgetMonth " +
+        "AND r.category.id = c.id AND r.type = com.tcsion.backend.entity.Category.TransactionType.EXPENSE ";
+
+    @Query(WITH_SPENT + "WHERE b.user.id = :userId")
+    List<Object[]> findWithSpentByUserId(@Param("userId") Long userId);
+
+    @Query(WITH_SPENT + "WHERE b.user.id = :userId AND b.budgetMonth = :month")
+    List<Object[]> findWithSpentByUserIdAndMonth(@Param("userId") Long userId, @Param("month") YearMonth month);
+
+    @Query("SELECT DISTINCT b.user.id FROM Budget b WHERE b.budgetMonth = :month")
+    List<Long> findUserIdsWithBudgetsIn(@Param("month") YearMonth month);
+
+    /**
+     * Creates the budget or updates its limit in one statement; concurrent
+     * callers serialise on the unique (user, category, month) index.
+     */
+    @Query(value = "INSERT INTO budgets (user_id, category_id, budget_month, limit_amount, created_at, updated_at) " +
+                   "VALUES (:userId, :categoryId, :month, :limitAmount, now(), now()) " +
+                   "ON CONFLICT (user_id, category_id, budget_month) DO UPDATE SET " +
+                   "limit_amount = EXCLUDED.limit_amount, updated_at = EXCLUDED.updated_at " +
+                   "RETURNING *",
+           nativeQuery = true)
+    Budget upsert(
+        @Param("userId") Long userId,
+        @Param("categoryId") Long categoryId,
+        @Param("month") String month,
+        @Param("limitAmount") BigDecimal limitAmount
+    );
+
+    /**
+     * Copies the budgets of users {@code firstUserId..lastUserId} from one month
+     * into another, scaling each limit by {@code factor}. Budgets that already
+     * exist in the target month are left alone.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO budgets (user_id, category_id, budget_month, limit_amount, created_at, updated_at) " +
+                   "SELECT b.user_id, b.category_id, :toMonth, GREATEST(ROUND(b.limit_amount * :factor, 2), 0.01), now(), now() " +
+                   "FROM budgets b WHERE b.budget_month = :fromMonth AND b.user_id BETWEEN :firstUserId AND :lastUserId " +
+                   "ON CONFLICT (user_id, category_id, budget_month) DO NOTHING",
+           nativeQuery = true)
+    int copyMonth(
+        @Param("fromMonth") String fromMonth,
+        @Param("toMonth") String toMonth,
+        @Param("factor") BigDecimal factor,
+        @Param("firstUserId") Long firstUserId,
+        @Param("lastUserId") Long lastUserId
+    );
+
+    @Query(value = "SELECT DISTINCT user_id FROM budgets WHERE budget_month = :month AND user_id > :afterUserId " +
+                   "ORDER BY user_id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findUserIdsWithBudgetsAfter(
+        @Param("month") String month,
+        @Param("afterUserId") Long afterUserId,
+        @Param("limit") int limit
+    );
+
     Optional<Budget> findByUserIdAndCategoryIdAndBudgetMonth(Long userId, Long categoryId, YearMonth budgetMonth);
 }
@@ -0,0 +1,14 @@
+package com.tcsion.backend.repository;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+public interface BudgetRepositoryCustom {
+
+    /**
+     * Creates or updates one budget per category for {@code month} in a single
+     * statement. {@code categoryIds} must not contain duplicates.
+     */
+    int upsertAll(Long userId, YearMonth month, List<Long> categoryIds, List<BigDecimal> limitAmounts);
+}
@@ -0,0 +1,35 @@
+package com.tcsion.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Array-parameter statements that the JPA query methods cannot bind. Runs on
+ * the connection of the surrounding JPA transaction.
+ */
+@RequiredArgsConstructor
+public class BudgetRepositoryImpl implements BudgetRepositoryCustom {
+
+    private static final String UPSERT_ALL =
+        "INSERT INTO budgets (user_id, category_id, budget_month, limit_amount, created_at, updated_at) " +
+        "SELECT ?, u.category_id, ?, u.limit_amount, now(), now() " +
+        "FROM unnest(?::bigint[], ?::numeric[]) AS u(category_id, limit_amount) " +
+        "ON CONFLICT (user_id, category_id, budget_month) DO UPDATE SET " +
+        "limit_amount = EXCLUDED.limit_amount, updated_at = EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int upsertAll(Long userId, YearMonth month, List<Long> categoryIds, List<BigDecimal> limitAmounts) {
+        return jdbcTemplate.update(UPSERT_ALL, ps -> {
+            ps.setLong(1, userId);
+            ps.setString(2, month.toString());
+            ps.setArray(3, ps.getConnection().createArrayOf("bigint", categoryIds.toArray()));
+            ps.setArray(4, ps.getConnection().createArrayOf("numeric", limitAmounts.toArray()));
+        });
+    }
+}
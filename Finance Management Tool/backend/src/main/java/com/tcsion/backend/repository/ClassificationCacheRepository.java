@@ -0,0 +1,23 @@
+package com.tcsion.backend.repository;
+
+import com.tcsion.backend.entity.ClassificationCacheEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ClassificationCacheRepository
+        extends JpaRepository<ClassificationCacheEntry, String>, ClassificationCacheRepositoryCustom {
+
+    List<ClassificationCacheEntry> findByClassifiedAtAfterOrderByClassifiedAtDesc(Instant after, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ClassificationCacheEntry e WHERE e.classifiedAt < :before")
+    int deleteClassifiedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,11 @@
+package com.tcsion.backend.repository;
+
+import com.tcsion.backend.entity.ClassificationCacheEntry;
+
+import java.util.List;
+
+public interface ClassificationCacheRepositoryCustom {
+
+    /** Inserts or replaces one row per description key as a single JDBC batch. */
+    void upsertAll(List<ClassificationCacheEntry> entries);
+}
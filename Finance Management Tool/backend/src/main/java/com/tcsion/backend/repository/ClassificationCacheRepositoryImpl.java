@@ -0,0 +1,35 @@
+package com.tcsion.backend.repository;
+
+import com.tcsion.backend.entity.ClassificationCacheEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Batched upserts that the JPA query methods cannot express. Runs on the
+ * connection of the surrounding transaction.
+ */
+@RequiredArgsConstructor
+public class ClassificationCacheRepositoryImpl implements ClassificationCacheRepositoryCustom {
+
+    private static final String UPSERT =
+        "INSERT INTO classification_cache (description_key, category, classified_at) VALUES (?, ?, ?) " +
+        "ON CONFLICT (description_key) DO UPDATE SET category = EXCLUDED.category, " +
+        "classified_at = EXCLUDED.classified_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsertAll(List<ClassificationCacheEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.getDescriptionKey());
+            ps.setString(2, entry.getCategory());
+            ps.setTimestamp(3, Timestamp.from(entry.getClassifiedAt()));
+        });
+    }
+}
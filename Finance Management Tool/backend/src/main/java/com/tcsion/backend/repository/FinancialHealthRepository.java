@@ -1,18 +1,37 @@
 package com.tcsion.backend.repository;
 
+import com.tcsion.backend.dto.projection.HealthScorePoint;
 import com.tcsion.backend.entity.FinancialHealth;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface FinancialHealthRepository extends JpaRepository<FinancialHealth, Long> {
+public interface FinancialHealthRepository extends JpaRepository<FinancialHealth, Long>, FinancialHealthRepositoryCustom {
 
     Optional<FinancialHealth> findFirstByUserIdOrderByScoreMonthDesc(Long userId);
 
     Optional<FinancialHealth> findByUserIdAndScoreMonth(Long userId, YearMonth scoreMonth);
+
+    // Served by the covering uk_financial_health_user_month_score index
+    @Query(value = "SELECT score_month AS scoreMonth, score FROM financial_health " +
+                   "WHERE user_id = :userId AND score_month BETWEEN :fromMonth AND :toMonth ORDER BY score_month",
+           nativeQuery = true)
+    List<HealthScorePoint> findScoreHistory(
+        @Param("userId") Long userId,
+        @Param("fromMonth") String fromMonth,
+        @Param("toMonth") String toMonth
+    );
+
+    @Modifying
+    @Query(value = "DELETE FROM financial_health WHERE user_id = :userId AND score_month IN (:months)",
+           nativeQuery = true)
+    int deleteByUserIdAndScoreMonths(@Param("userId") Long userId, @Param("months") Collection<String> months);
 }
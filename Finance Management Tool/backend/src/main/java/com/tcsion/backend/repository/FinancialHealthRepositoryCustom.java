@@ -0,0 +1,21 @@
+package com.tcsion.backend.repository;
+
+import com.tcsion.backend.entity.FinancialHealth;
+
+import java.util.List;
+
+public interface FinancialHealthRepositoryCustom {
+
+    /**
+     * Inserts or replaces one score per (user, month) as a single JDBC batch.
+     * Each entity needs its user id, month, score, metrics and recommendations.
+     */
+    void upsertAll(List<FinancialHealth> scores);
+
+    /**
+     * Takes a transaction-scoped lock on the user's stored scores, so a
+     * backfill cannot read rollups that a concurrent backdated write is
+     * about to change and store the pre-write score.
+     */
+    void lockUserScores(Long userId);
+}
@@ -0,0 +1,60 @@
+package com.tcsion.backend.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tcsion.backend.entity.FinancialHealth;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batched jsonb upserts and advisory locks that the JPA query methods cannot
+ * express. Runs on the connection of the surrounding transaction.
+ */
+@RequiredArgsConstructor
+public class FinancialHealthRepositoryImpl implements FinancialHealthRepositoryCustom {
+
+    private static final String UPSERT =
+        "INSERT INTO financial_health (user_id, score_month, score, metrics, recommendations, created_at) " +
+        "VALUES (?, ?, ?, ?::jsonb, ?::jsonb, now()) " +
+        "ON CONFLICT (user_id, score_month) DO UPDATE SET score = EXCLUDED.score, " +
+        "metrics = EXCLUDED.metrics, recommendations = EXCLUDED.recommendations";
+
+    // Two-key advisory lock form, so user ids cannot collide with locks taken for other purposes
+    private static final int SCORE_LOCK_NAMESPACE = 0x46484c54;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void upsertAll(List<FinancialHealth> scores) {
+        if (scores.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT, scores, scores.size(), (ps, health) -> {
+            ps.setLong(1, health.getUser().getId());
+            ps.setString(2, health.getScoreMonth().toString());
+            ps.setInt(3, health.getScore());
+            ps.setString(4, toJson(health.getMetrics()));
+            ps.setString(5, toJson(health.getRecommendations()));
+        });
+    }
+
+    @Override
+    public void lockUserScores(Long userId) {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, ?)", rs -> null, SCORE_LOCK_NAMESPACE, Long.hashCode(userId));
+    }
+
+    private String toJson(Map<String, Object> value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialise financial health JSON", e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.tcsion.backend.repository;
+
+import com.tcsion.backend.dto.projection.CategoryTrendTotal;
+import com.tcsion.backend.dto.projection.IncomeExpenseTotal;
+import com.tcsion.backend.entity.Category;
+import com.tcsion.backend.entity.MonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, Long> {
+
+    @Query("SELECT r FROM MonthlyRollup r JOIN FETCH r.category WHERE r.user.id = :userId " +
+           "AND r.yearMonth BETWEEN :from AND :to")
+    List<MonthlyRollup> findByUserIdAndMonthBetween(
+        @Param("userId") Long userId,
+        @Param("from") YearMonth from,
+        @Param("to") YearMonth to
+    );
+
+    // year_month is stored as 'yyyy-MM', so string comparison orders months correctly
+    @Query(value = "SELECT r.category_id AS categoryId, c.name AS categoryName, " +
+                   "SUM(CASE WHEN r.year_month >= :splitMonth THEN r.sum_amount ELSE 0 END) AS recentTotal, " +
+                   "SUM(CASE WHEN r.year_month < :splitMonth THEN r.sum_amount ELSE 0 END) AS pastTotal " +
+                   "FROM monthly_rollups r JOIN categories c ON c.id = r.category_id " +
+                   "WHERE r.user_id = :userId AND r.type = 'EXPENSE' AND r.txn_count > 0 " +
+                   "AND r.year_month BETWEEN :fromMonth AND :toMonth " +
+                   "GROUP BY r.category_id, c.name ORDER BY r.category_id",
+           nativeQuery = true)
+    List<CategoryTrendTotal> sumExpenseTrendByCategory(
+        @Param("userId") Long userId,
+        @Param("fromMonth") String fromMonth,
+        @Param("splitMonth") String splitMonth,
+        @Param("toMonth") String toMonth
+    );
+
+    @Query(value = "SELECT user_id AS userId, year_month AS yearMonth, " +
+                   "SUM(CASE WHEN type = 'INCOME' THEN sum_amount ELSE 0 END) AS income, " +
+                   "SUM(CASE WHEN type = 'EXPENSE' THEN sum_amount ELSE 0 END) AS expenses " +
+                   "FROM monthly_rollups WHERE year_month = :month AND user_id IN (:userIds) AND txn_count > 0 " +
+                   "GROUP BY user_id, year_month",
+           nativeQuery = true)
+    List<IncomeExpenseTotal> sumIncomeAndExpenseByUser(
+        @Param("userIds") Collection<Long> userIds,
+        @Param("month") String month
+    );
+
+    @Query(value = "SELECT user_id AS userId, year_month AS yearMonth, " +
+                   "SUM(CASE WHEN type = 'INCOME' THEN sum_amount ELSE 0 END) AS income, " +
+                   "SUM(CASE WHEN type = 'EXPENSE' THEN sum_amount ELSE 0 END) AS expenses " +
+                   "FROM monthly_rollups WHERE user_id = :userId AND year_month BETWEEN :fromMonth AND :toMonth " +
+                   "AND txn_count > 0 GROUP BY user_id, year_month",
+           nativeQuery = true)
+    List<IncomeExpenseTotal> sumIncomeAndExpenseByMonth(
+        @Param("userId") Long userId,
+        @Param("fromMonth") String fromMonth,
+        @Param("toMonth") String toMonth
+    );
+
+    @Query("SELECT r FROM MonthlyRollup r WHERE r.user.id = :userId AND r.yearMonth = :month " +
+           "AND r.category.id = :categoryId AND r.type = :type")
+    Optional<MonthlyRollup> findBucket(
+        @Param("userId") Long userId,
+        @Param("month") YearMonth month,
+        @Param("categoryId") Long categoryId,
+        @Param("type") Category.TransactionType type
+    );
+
+    /**
+     * Adds a signed delta to a bucket, creating it on first use. The row lock
+     * taken by ON CONFLICT serialises concurrent writers on the same bucket.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (user_id, year_month, category_id, type, sum_amount, txn_count) " +
+                   "VALUES (:userId, :yearMonth, :categoryId, :type, :amount, :count) " +
+                   "ON CONFLICT (user_id, year_month, category_id, type) DO UPDATE SET " +
+                   "sum_amount = monthly_rollups.sum_amount + EXCLUDED.sum_amount, " +
+                   "txn_count = monthly_rollups.txn_count + EXCLUDED.txn_count",
+           nativeQuery = true)
+    void applyDelta(
+        @Param("userId") Long userId,
+        @Param("yearMonth") String yearMonth,
+        @Param("categoryId") Long categoryId,
+        @Param("type") String type,
+        @Param("amount") BigDecimal amount,
+        @Param("count") long count
+    );
+
+    // Row locks make in-flight applyDelta writers on these buckets commit (or wait) before reconciliation reads
+    @Query(value = "SELECT id FROM monthly_rollups WHERE user_id = :userId AND year_month >= :sinceMonth FOR UPDATE",
+           nativeQuery = true)
+    List<Long> lockBuckets(@Param("userId") Long userId, @Param("sinceMonth") String sinceMonth);
+
+    /**
+     * Overwrites every bucket from {@code since} onwards whose sum or count
+     * differs from the live transactions, including buckets that should now
+     * be empty. Returns the number of buckets repaired.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (user_id, year_month, category_id, type, sum_amount, txn_count) " +
+                   "SELECT :userId, COALESCE(t.ym, r.year_month), COALESCE(t.category_id, r.category_id), " +
+                   "COALESCE(t.type, r.type), COALESCE(t.total, 0), COALESCE(t.cnt, 0) " +
+                   "FROM (SELECT to_char(transaction_date, 'YYYY-MM') AS ym, category_id, type, " +
+                   "SUM(amount) AS total, COUNT(*) AS cnt FROM transactions " +
+                   "WHERE user_id = :userId AND deleted_at IS NULL AND transaction_date >= :since " +
+                   "GROUP BY to_char(transaction_date, 'YYYY-MM'), category_id, type) t " +
+                   "FULL OUTER JOIN (SELECT year_month, category_id, type, sum_amount, txn_count FROM monthly_rollups " +
+                   "WHERE user_id = :userId AND year_month >= :sinceMonth) r " +
+                   "ON r.year_month = t.ym AND r.category_id = t.category_id AND r.type = t.type " +
+                   "WHERE COALESCE(t.total, 0) <> COALESCE(r.sum_amount, 0) OR COALESCE(t.cnt, 0) <> COALESCE(r.txn_count, 0) " +
+                   "ON CONFLICT (user_id, year_month, category_id, type) DO UPDATE SET " +
+                   "sum_amount = EXCLUDED.sum_amount, txn_count = EXCLUDED.txn_count",
+           nativeQuery = true)
+    int repairDrift(
+        @Param("userId") Long userId,
+        @Param("since") LocalDate since,
+        @Param("sinceMonth") String sinceMonth
+    );
+
+    @Modifying
+    @Query("DELETE FROM MonthlyRollup r WHERE r.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (user_id, year_month, category_id, type, sum_amount, txn_count) " +
+                   "SELECT user_id, to_char(transaction_date, 'YYYY-MM'), category_id, type, SUM(amount), COUNT(*) " +
+                   "FROM transactions WHERE user_id = :userId AND deleted_at IS NULL " +
+                   "GROUP BY user_id, to_char(transaction_date, 'YYYY-MM'), category_id, type",
+           nativeQuery = true)
+    int insertFromTransactions(@Param("userId") Long userId);
+}
@@ -1,20 +1,54 @@
 package com.tcsion.backend.repository;
 
+import com.tcsion.backend.dto.projection.CategorizedDescription;
+import com.tcsion.backend.dto.projection.IncomeExpenseTotal;
+import com.tcsion.backend.dto.response.TransactionResponse;
 import com.tcsion.backend.entity.Transaction;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
-    Page<Transaction> findByUserIdAndDeletedAtIsNull(Long userId, Pageable pageable);
+    // Read path projections: exactly the TransactionResponse columns, no managed entities
+    String RESPONSE_SELECT = "SELECT new com.tcsion.backend.dto.response.TransactionResponse(" +
+        "t.id, t.amount, t.type, c.id, c.name, t.description, t.transactionDate, t.isRecurring, t.createdAt, t.updatedAt) " +
+        "FROM Transaction t JOIN t.category c ";
+
+    @Query(RESPONSE_SELECT + "WHERE t.id = :id AND t.user.id = :userId AND t.deletedAt IS NULL")
+    Optional<TransactionResponse> findResponseById(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query(RESPONSE_SELECT + "WHERE t.id IN :ids")
+    List<TransactionResponse> findResponsesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = RESPONSE_SELECT + "WHERE t.user.id = :userId AND t.deletedAt IS NULL",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId AND t.deletedAt IS NULL")
+    Page<TransactionResponse> findResponses(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = RESPONSE_SELECT + "WHERE t.user.id = :userId AND t.deletedAt IS NULL " +
+                   "AND t.transactionDate BETWEEN :start AND :end",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId AND t.deletedAt IS NULL " +
+                        "AND t.transactionDate BETWEEN :start AND :end")
+    Page<TransactionResponse> findResponsesBetween(
+        @Param("userId") Long userId,
+        @Param("start") LocalDate start,
+        @Param("end") LocalDate end,
+        Pageable pageable
+    );
 
     @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.deletedAt IS NULL " +
            "AND t.transactionDate BETWEEN :start AND :end ORDER BY t.transactionDate DESC")
@@ -26,6 +60,77 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
     List<Transaction> findByUserIdAndDeletedAtIsNullOrderByTransactionDateDesc(Long userId, Pageable pageable);
 
+    @Query(RESPONSE_SELECT + "WHERE t.user.id = :userId AND t.deletedAt IS NULL " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionResponse> findKeysetFirst(@Param("userId") Long userId, Limit limit);
+
+    // The redundant "date <= :date" bound lets Postgres seek on idx_transaction_user_date
+    @Query(RESPONSE_SELECT + "WHERE t.user.id = :userId AND t.deletedAt IS NULL " +
+           "AND t.transactionDate <= :date AND (t.transactionDate < :date OR t.id < :id) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionResponse> findKeysetAfter(
+        @Param("userId") Long userId,
+        @Param("date") LocalDate date,
+        @Param("id") Long id,
+        Limit limit
+    );
+
+    @Query("SELECT c.id AS categoryId, c.name AS categoryName, t.description AS description " +
+           "FROM Transaction t JOIN t.category c WHERE t.user.id = :userId AND t.deletedAt IS NULL " +
+           "AND t.description IS NOT NULL ORDER BY t.transactionDate DESC, t.id DESC")
+    List<CategorizedDescription> findTrainingSamples(@Param("userId") Long userId, Limit limit);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction so the driver honours the fetch size
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.user.id = :userId AND t.deletedAt IS NULL " +
+           "AND t.transactionDate BETWEEN :start AND :end ORDER BY t.transactionDate, t.id")
+    Stream<Transaction> streamForExport(
+        @Param("userId") Long userId,
+        @Param("start") LocalDate start,
+        @Param("end") LocalDate end
+    );
+
+    // Matches against the GIN-indexed description_tsv column maintained in data.sql; null filters are skipped.
+    // Returns ranked ids only; findResponsesByIds projects them.
+    String SEARCH_WHERE = "WHERE t.user_id = :userId AND t.deleted_at IS NULL " +
+        "AND t.description_tsv @@ to_tsquery('simple', :query) " +
+        "AND (CAST(:start AS date) IS NULL OR t.transaction_date >= :start) " +
+        "AND (CAST(:end AS date) IS NULL OR t.transaction_date <= :end) " +
+        "AND (CAST(:categoryId AS bigint) IS NULL OR t.category_id = :categoryId) ";
+
+    @Query(value = "SELECT t.id FROM transactions t " + SEARCH_WHERE +
+           "ORDER BY ts_rank(t.description_tsv, to_tsquery('simple', :query)) DESC, t.transaction_date DESC, t.id DESC",
+           countQuery = "SELECT COUNT(*) FROM transactions t " + SEARCH_WHERE,
+           nativeQuery = true)
+    Page<Long> searchIds(
+        @Param("userId") Long userId,
+        @Param("query") String query,
+        @Param("start") LocalDate start,
+        @Param("end") LocalDate end,
+        @Param("categoryId") Long categoryId,
+        Pageable pageable
+    );
+
+    // The parts of the window's first and last months that lie outside [start, end], to trim whole-month rollups
+    @Query(value = "SELECT user_id AS userId, " +
+                   "COALESCE(SUM(CASE WHEN type = 'INCOME' THEN amount END), 0) AS income, " +
+                   "COALESCE(SUM(CASE WHEN type = 'EXPENSE' THEN amount END), 0) AS expenses " +
+                   "FROM transactions WHERE user_id = :userId AND deleted_at IS NULL " +
+                   "AND ((transaction_date >= :monthStart AND transaction_date < :start) " +
+                   "OR (transaction_date > :end AND transaction_date <= :monthEnd)) " +
+                   "GROUP BY user_id",
+           nativeQuery = true)
+    Optional<IncomeExpenseTotal> sumIncomeAndExpenseOutside(
+        @Param("userId") Long userId,
+        @Param("monthStart") LocalDate monthStart,
+        @Param("start") LocalDate start,
+        @Param("end") LocalDate end,
+        @Param("monthEnd") LocalDate monthEnd
+    );
+
     @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.deletedAt IS NULL " +
            "AND t.category.id = :categoryId AND t.transactionDate BETWEEN :start AND :end")
     List<Transaction> findByUserIdAndCategoryIdAndDateBetween(
@@ -1,7 +1,11 @@
 package com.tcsion.backend.service;
 
-import com.tcsion.backend.entity.Category;
-import com.tcsion.backend.entity.Transaction;
+import com.tcsion.backend.cache.DashboardCache;
+import com.tcsion.backend.dto.projection.CategoryTrendTotal;
+import com.tcsion.backend.dto.projection.IncomeExpenseTotal;
+import com.tcsion.backend.entity.FinancialHealth;
+import com.tcsion.backend.exception.BadRequestException;
+import com.tcsion.backend.repository.MonthlyRollupRepository;
 import com.tcsion.backend.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -10,61 +14,71 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AnalyticsService {
 
+    public static final int DEFAULT_LOOKBACK_MONTHS = 6;
+    public static final int DEFAULT_RECENT_MONTHS = 3;
+    public static final int DEFAULT_HISTORY_MONTHS = 12;
+    public static final int MAX_HISTORY_MONTHS = 36;
+
+    private final TransactionAggregationService transactionAggregationService;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final DashboardCache dashboardCache;
+    private final FinancialHealthService financialHealthService;
     private final TransactionRepository transactionRepository;
 
+    /**
+     * Suggests a limit per expense category from the last {@code lookbackMonths}
+     * (including the current one), comparing the most recent {@code recentMonths}
+     * with the months before them. The totals come from one grouped query over
+     * the monthly rollups, so a longer look-back costs no extra queries.
+     */
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> getBudgetRecommendations(Long userId) {
-        // Look back 6 months for trend analysis
-        LocalDate end = LocalDate.now();
-        LocalDate start = end.minusMonths(6);
-
-        List<Transaction> transactions = transactionRepository.findByUserIdAndDateBetween(userId, start, end);
-
-        // Group by category
-        Map<Category, List<Transaction>> byCategory = transactions.stream()
-                .filter(t -> t.getType() == Category.TransactionType.EXPENSE)
-                .collect(Collectors.groupingBy(Transaction::getCategory));
-
-        return byCategory.entrySet().stream()
-                .map(entry -> {
-                    Category category = entry.getKey();
-                    List<Transaction> txs = entry.getValue();
-
-                    // Calculate 6-month average
-                    BigDecimal total = txs.stream()
-                            .map(Transaction::getAmount)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public List<Map<String, Object>> getBudgetRecommendations(Long userId, int lookbackMonths, int recentMonths) {
+        if (lookbackMonths < 2 || lookbackMonths > 60) {
+            throw new BadRequestException("Look-back must be between 2 and 60 months");
+        }
+        if (recentMonths < 1 || recentMonths >= lookbackMonths) {
+            throw new BadRequestException("Recent window must be at least 1 month and shorter than the look-back");
+        }
+        YearMonth end = YearMonth.now();
+        YearMonth start = end.minusMonths(lookbackMonths - 1L);
+        YearMonth splitMonth = end.minusMonths(recentMonths - 1L);
+        List<CategoryTrendTotal> totals = monthlyRollupRepository.sumExpenseTrendByCategory(
+                userId, start.toString(), splitMonth.toString(), end.toString());
+
+        BigDecimal lookback = BigDecimal.valueOf(lookbackMonths);
+        BigDecimal recentWindow = BigDecimal.valueOf(recentMonths);
+        BigDecimal pastWindow = BigDecimal.valueOf(lookbackMonths - recentMonths);
+        return totals.stream()
+                .map(row -> {
+                    Long categoryId = row.getCategoryId();
+                    BigDecimal recentTotal = row.getRecentTotal();
+                    BigDecimal pastTotal = row.getPastTotal();
+
+                    // Average over the whole look-back
+                    BigDecimal total = recentTotal.add(pastTotal);
 
                     // Avoid division by zero
                     if (total.compareTo(BigDecimal.ZERO) == 0)
                         return null;
 
-                    BigDecimal avg = total.divide(BigDecimal.valueOf(6), 2, RoundingMode.HALF_UP);
+                    BigDecimal avg = total.divide(lookback, 2, RoundingMode.HALF_UP);
 
-                    // Simple Trend Analysis: Compare last 3 months vs previous 3 months
-                    LocalDate splitDate = end.minusMonths(3);
-                    BigDecimal recentTotal = BigDecimal.ZERO;
-                    BigDecimal pastTotal = BigDecimal.ZERO;
-
-                    for (Transaction t : txs) {
-                        if (t.getTransactionDate().isAfter(splitDate)) {
-                            recentTotal = recentTotal.add(t.getAmount());
-                        } else {
-                            pastTotal = pastTotal.add(t.getAmount());
-                        }
-                    }
-
-                    BigDecimal recentAvg = recentTotal.divide(BigDecimal.valueOf(3), 2, RoundingMode.HALF_UP);
-                    BigDecimal pastAvg = pastTotal.divide(BigDecimal.valueOf(3), 2, RoundingMode.HALF_UP);
+                    BigDecimal recentAvg = recentTotal.divide(recentWindow, 2, RoundingMode.HALF_UP);
+                    BigDecimal pastAvg = pastTotal.divide(pastWindow, 2, RoundingMode.HALF_UP);
 
                     String reason;
                     BigDecimal recommendation;
@@ -94,8 +108,8 @@ public class AnalyticsService {
                     avg = avg.setScale(0, RoundingMode.CEILING);
 
                     Map<String, Object> rec = new HashMap<>();
-                    rec.put("categoryId", category.getId());
-                    rec.put("categoryName", category.getName());
+                    rec.put("categoryId", categoryId);
+                    rec.put("categoryName", row.getCategoryName());
                     rec.put("currentAverage", avg);
                     rec.put("recommendedLimit", recommendation);
                     rec.put("reason", reason);
@@ -105,70 +119,79 @@ public class AnalyticsService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Score over the last 30 days (one month back from today). The totals are
+     * the rollups of the window's first and last months, less the transactions
+     * in those months that fall outside the window. Cached per user until a
+     * write evicts it or the cache TTL expires.
+     */
     @Transactional(readOnly = true)
     public Map<String, Object> getFinancialHealthScore(Long userId) {
         LocalDate end = LocalDate.now();
-        LocalDate start = end.minusMonths(1); // Last month snapshot
-
-        // Get total income and expense for last month
-        List<Transaction> transactions = transactionRepository.findByUserIdAndDateBetween(userId, start, end);
-
-        BigDecimal income = transactions.stream()
-                .filter(t -> t.getType() == Category.TransactionType.INCOME)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal expense = transactions.stream()
-                .filter(t -> t.getType() == Category.TransactionType.EXPENSE)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // 1. Savings Rate Score (50% weight)
-        // Ideal savings rate is 20%. If >= 20%, score 50 points.
-        double savingsRateScore = 0;
-        if (income.compareTo(BigDecimal.ZERO) > 0) {
-            BigDecimal savings = income.subtract(expense);
-            double rate = savings.divide(income, 2, RoundingMode.HALF_UP).doubleValue(); // e.g. 0.20
-            savingsRateScore = Math.min(rate * 250, 50); // 0.2 * 250 = 50 pts. 0.1 * 250 = 25 pts.
-            if (savingsRateScore < 0)
-                savingsRateScore = 0;
+        return dashboardCache.healthScore(userId, YearMonth.from(end),
+                () -> computeFinancialHealthScore(userId, end.minusMonths(1), end));
+    }
+
+    /**
+     * Monthly scores for the last {@code months} months, oldest first, ending
+     * with the current month. Completed months come from the stored snapshots
+     * and are cached until the month rolls over or a backdated write rescores
+     * one of them (see {@link DashboardCache#evictHealthHistory}); only the
+     * current month is read fresh. Months without activity are omitted.
+     */
+    public List<Map<String, Object>> getHealthScoreHistory(Long userId, int months) {
+        if (months < 1 || months > MAX_HISTORY_MONTHS) {
+            throw new BadRequestException("History must be between 1 and " + MAX_HISTORY_MONTHS + " months");
         }
+        YearMonth current = YearMonth.now();
+        YearMonth lastCompleted = current.minusMonths(1);
+        // Always load the longest window so every requested length shares one cache entry
+        NavigableMap<YearMonth, Integer> completed = dashboardCache.healthHistory(userId, lastCompleted,
+                () -> Collections.unmodifiableNavigableMap(financialHealthService.getScoreHistory(
+                        userId, current.minusMonths(MAX_HISTORY_MONTHS - 1L), lastCompleted)));
+
+        List<Map<String, Object>> history = new ArrayList<>();
+        completed.tailMap(current.minusMonths(months - 1L), true)
+                .forEach((month, score) -> history.add(Map.of("month", month.toString(), "score", score)));
+        history.add(Map.of("month", current.toString(), "score", currentMonthScore(userId, current)));
+        return history;
+    }
 
-        // 2. Spending Control Score (50% weight)
-        // If expense < income, full 50 points. If expense > income, lose points.
-        double controlScore = 0;
-        if (expense.compareTo(income) <= 0) {
-            controlScore = 50;
-        } else {
-            // Overspending penalty
-            if (income.compareTo(BigDecimal.ZERO) > 0) {
-                double overspendRatio = expense.subtract(income).divide(income, 2, RoundingMode.HALF_UP).doubleValue();
-                controlScore = Math.max(0, 50 - (overspendRatio * 100)); // Lose 1 pt for every 1% over
-            }
+    private Map<String, Object> computeFinancialHealthScore(Long userId, LocalDate start, LocalDate end) {
+        YearMonth first = YearMonth.from(start);
+        YearMonth last = YearMonth.from(end);
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expenses = BigDecimal.ZERO;
+        for (IncomeExpenseTotal totals : monthlyRollupRepository.sumIncomeAndExpenseByMonth(
+                userId, first.toString(), last.toString())) {
+            income = income.add(totals.getIncome());
+            expenses = expenses.add(totals.getExpenses());
+        }
+        Optional<IncomeExpenseTotal> outside = transactionRepository.sumIncomeAndExpenseOutside(
+                userId, first.atDay(1), start, end, last.atEndOfMonth());
+        if (outside.isPresent()) {
+            income = income.subtract(outside.get().getIncome());
+            expenses = expenses.subtract(outside.get().getExpenses());
         }
+        FinancialHealthCalculator.Result result = FinancialHealthCalculator.score(income, expenses);
+        return toScoreMap(result.score(), result.status(), result.suggestion());
+    }
 
-        int totalScore = (int) (savingsRateScore + controlScore);
-        String status;
-        if (totalScore >= 80)
-            status = "Excellent";
-        else if (totalScore >= 60)
-            status = "Good";
-        else if (totalScore >= 40)
-            status = "Fair";
-        else
-            status = "Needs Attention";
-
-        // Suggestion based on score
-        String suggestion = "Keep up the consistent saving!";
-        if (totalScore < 40)
-            suggestion = "Try to cut down discretionary expenses.";
-        else if (savingsRateScore < 10)
-            suggestion = "Aim to save at least 20% of income.";
+    // History points are calendar months, like the stored snapshots of the completed ones
+    private int currentMonthScore(Long userId, YearMonth month) {
+        return financialHealthService.getByUserIdAndMonth(userId, month)
+                .map(FinancialHealth::getScore)
+                .orElseGet(() -> {
+                    SpendingSummary summary = transactionAggregationService.summarize(userId, month, month);
+                    return FinancialHealthCalculator.score(summary.income(month), summary.expenses(month)).score();
+                });
+    }
 
+    private static Map<String, Object> toScoreMap(int score, String status, String suggestion) {
         Map<String, Object> result = new HashMap<>();
-        result.put("score", totalScore);
+        result.put("score", score);
         result.put("status", status);
         result.put("suggestion", suggestion);
-        return result;
+        return Collections.unmodifiableMap(result);
     }
 }
@@ -0,0 +1,280 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.cache.DashboardCache;
+import com.tcsion.backend.dto.response.BudgetAlertResponse;
+import com.tcsion.backend.entity.Budget;
+import com.tcsion.backend.entity.BudgetAlert;
+import com.tcsion.backend.repository.BudgetAlertRepository;
+import com.tcsion.backend.repository.BudgetRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Evaluates budget alerts in the background and serves them from the
+ * budget_alerts table. A user's budgets are re-evaluated for the months named
+ * by a committed change to their spend or budgets, and the current month for
+ * everyone when the day rolls over (the projection depends on the day of the
+ * month). Readers never compute alerts themselves.
+ *
+ * <p>Evaluations run on a small bounded pool, at most one at a time per user.
+ * Requests for a user that is already queued are coalesced and their months
+ * merged; a request that arrives while the user is being evaluated triggers
+ * one more pass once the current one finishes. A full queue pushes the work
+ * back onto the submitting thread rather than dropping it; after shutdown
+ * requests are discarded.
+ */
+@Service
+@Slf4j
+public class BudgetAlertService {
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetAlertRepository budgetAlertRepository;
+    private final DashboardCache dashboardCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentHashMap<Long, Pass> passes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<YearMonth>> pendingMonths = new ConcurrentHashMap<>();
+
+    private enum Pass {
+        QUEUED, RUNNING, RERUN
+    }
+
+    public BudgetAlertService(BudgetRepository budgetRepository,
+            BudgetAlertRepository budgetAlertRepository,
+            DashboardCache dashboardCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${alerts.engine.threads:2}") int threads,
+            @Value("${alerts.engine.queue-capacity:1000}") int queueCapacity) {
+        this.budgetRepository = budgetRepository;
+        this.budgetAlertRepository = budgetAlertRepository;
+        this.dashboardCache = dashboardCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // A full queue runs the evaluation on the caller, which may be an after-commit callback
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "budget-alerts-" + threadNumber.getAndIncrement());
+                    t.setDaemon(true);
+                    return t;
+                },
+                (r, pool) -> {
+                    if (pool.isShutdown()) {
+                        throw new RejectedExecutionException("Budget alert engine is shut down");
+                    }
+                    r.run();
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @TransactionalEventListener
+    public void onSpendChanged(SpendChangedEvent event) {
+        requestEvaluation(event.userId(), event.months());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void evaluateOnStartup() {
+        evaluateAll();
+    }
+
+    @Scheduled(cron = "${alerts.rollover.cron:0 5 0 * * *}")
+    public void evaluateAll() {
+        YearMonth current = YearMonth.now();
+        List<Long> userIds = budgetRepository.findUserIdsWithBudgetsIn(current);
+        userIds.forEach(userId -> requestEvaluation(userId, Set.of(current)));
+        log.info("Queued budget alert evaluation for {} users", userIds.size());
+    }
+
+    public void requestEvaluation(Long userId, Set<YearMonth> months) {
+        pendingMonths.merge(userId, Set.copyOf(months), (queued, added) -> {
+            Set<YearMonth> merged = new HashSet<>(queued);
+            merged.addAll(added);
+            return merged;
+        });
+        boolean[] submit = new boolean[1];
+        passes.compute(userId, (id, pass) -> {
+            if (pass == null) {
+                submit[0] = true;
+                return Pass.QUEUED;
+            }
+            return pass == Pass.QUEUED ? Pass.QUEUED : Pass.RERUN;
+        });
+        if (submit[0]) {
+            try {
+                executor.execute(() -> runPasses(userId));
+            } catch (RejectedExecutionException e) {
+                // Shutting down: release the user so the state does not stay QUEUED
+                passes.remove(userId);
+                pendingMonths.remove(userId);
+                log.debug("Budget alert evaluation for user {} discarded: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    private void runPasses(Long userId) {
+        passes.put(userId, Pass.RUNNING);
+        do {
+            Set<YearMonth> months = pendingMonths.remove(userId);
+            LocalDate today = LocalDate.now();
+            for (YearMonth month : months != null ? months : Set.<YearMonth>of()) {
+                try {
+                    evaluate(userId, month, today);
+                } catch (RuntimeException e) {
+                    log.warn("Budget alert evaluation for {} failed for user {}", month, userId, e);
+                }
+            }
+            // Go again if spend changed mid-evaluation; otherwise release the user
+        } while (passes.compute(userId, (id, pass) -> pass == Pass.RERUN ? Pass.RUNNING : null) != null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BudgetAlertResponse> getFeed(Long userId, YearMonth month) {
+        return budgetAlertRepository.findByUserIdAndAlertMonthOrderByIdAsc(userId, month).stream()
+                .map(BudgetAlertService::toResponse)
+                .toList();
+    }
+
+    /** Alert text as shown on the dashboard. */
+    @Transactional(readOnly = true)
+    public List<String> getMessages(Long userId, YearMonth month) {
+        return budgetAlertRepository.findByUserIdAndAlertMonthOrderByIdAsc(userId, month).stream()
+                .map(BudgetAlertService::message)
+                .toList();
+    }
+
+    void evaluate(Long userId, YearMonth month, LocalDate today) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<BudgetAlert> alerts = budgetRepository.findWithSpentByUserIdAndMonth(userId, month).stream()
+                    .map(row -> evaluateBudget((Budget) row[0],
+                            row[1] != null ? (BigDecimal) row[1] : BigDecimal.ZERO, today))
+                    .filter(Objects::nonNull)
+                    .sorted(Comparator.comparing(BudgetAlert::getCategoryId))
+                    .toList();
+
+            List<BudgetAlert> current = budgetAlertRepository.findByUserIdAndAlertMonthOrderByIdAsc(userId, month);
+            if (sameAlerts(current, alerts)) {
+                return;
+            }
+            budgetAlertRepository.deleteByUserIdAndMonth(userId, month);
+            budgetAlertRepository.saveAll(alerts);
+            dashboardCache.evictUser(userId);
+        });
+    }
+
+    private static BudgetAlert evaluateBudget(Budget b, BigDecimal spent, LocalDate today) {
+        YearMonth month = b.getBudgetMonth();
+        YearMonth current = YearMonth.from(today);
+        int daysInMonth = month.lengthOfMonth();
+        // A past month is complete; a future one has not started, so only what is already booked counts
+        int daysPassed = month.isBefore(current) ? daysInMonth
+                : month.isAfter(current) ? 0 : today.getDayOfMonth();
+
+        // Linear projection
+        BigDecimal projected = spent;
+        if (daysPassed > 0) {
+            projected = spent.divide(BigDecimal.valueOf(daysPassed), 2, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(daysInMonth));
+        }
+        if (projected.compareTo(b.getLimitAmount()) <= 0) {
+            return null;
+        }
+
+        BudgetAlert.AlertType type;
+        // Only warn on the projection once the month is under way and spending is
+        // already substantial (> 10% of budget), to avoid day-one noise
+        if (month.equals(current) && daysPassed > 5 && spent.compareTo(b.getLimitAmount().multiply(BigDecimal.valueOf(0.1))) > 0) {
+            type = BudgetAlert.AlertType.PROJECTED_OVERSPEND;
+        } else if (spent.compareTo(b.getLimitAmount()) > 0) {
+            type = BudgetAlert.AlertType.OVER_BUDGET;
+        } else {
+            return null;
+        }
+
+        return BudgetAlert.builder()
+                .alertMonth(b.getBudgetMonth())
+                .type(type)
+                .categoryId(b.getCategory().getId())
+                .categoryName(b.getCategory().getName())
+                .limitAmount(b.getLimitAmount())
+                .spentAmount(spent)
+                .projectedAmount(projected.setScale(2, RoundingMode.HALF_UP))
+                .evaluatedAt(Instant.now())
+                .user(b.getUser())
+                .build();
+    }
+
+    private static boolean sameAlerts(List<BudgetAlert> current, List<BudgetAlert> evaluated) {
+        if (current.size() != evaluated.size()) {
+            return false;
+        }
+        for (int i = 0; i < current.size(); i++) {
+            BudgetAlert a = current.get(i);
+            BudgetAlert b = evaluated.get(i);
+            if (a.getType() != b.getType()
+                    || !a.getCategoryId().equals(b.getCategoryId())
+                    || !a.getCategoryName().equals(b.getCategoryName())
+                    || a.getLimitAmount().compareTo(b.getLimitAmount()) != 0
+                    || a.getSpentAmount().compareTo(b.getSpentAmount()) != 0
+                    || a.getProjectedAmount().compareTo(b.getProjectedAmount()) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String message(BudgetAlert a) {
+        return switch (a.getType()) {
+            case PROJECTED_OVERSPEND -> String.format("⚠️ Projected to overspend on %s. Budget: %s, Projected: %s",
+                    a.getCategoryName(), a.getLimitAmount(), a.getProjectedAmount().toPlainString());
+            case OVER_BUDGET -> String.format("🚨 Over budget on %s! Limit: %s, Spent: %s",
+                    a.getCategoryName(), a.getLimitAmount(), a.getSpentAmount());
+        };
+    }
+
+    private static BudgetAlertResponse toResponse(BudgetAlert a) {
+        return BudgetAlertResponse.builder()
+                .id(a.getId())
+                .type(a.getType())
+                .alertMonth(a.getAlertMonth())
+                .categoryId(a.getCategoryId())
+                .categoryName(a.getCategoryName())
+                .limitAmount(a.getLimitAmount())
+                .spentAmount(a.getSpentAmount())
+                .projectedAmount(a.getProjectedAmount())
+                .message(message(a))
+                .evaluatedAt(a.getEvaluatedAt())
+                .build();
+    }
+}
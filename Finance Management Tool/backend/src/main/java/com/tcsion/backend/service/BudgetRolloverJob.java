@@ -0,0 +1,89 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.cache.DashboardCache;
+import com.tcsion.backend.repository.BudgetRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Carries every user's budgets into the new month at the month boundary.
+ * Users are walked in id order in chunks; each chunk is one set-based
+ * INSERT ... SELECT in its own transaction, so a failure only loses that
+ * chunk and a rerun picks up where the copy is still missing.
+ */
+@Component
+@Slf4j
+public class BudgetRolloverJob {
+
+    private final BudgetRepository budgetRepository;
+    private final DashboardCache dashboardCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final BigDecimal adjustPercent;
+
+    public BudgetRolloverJob(BudgetRepository budgetRepository,
+            DashboardCache dashboardCache,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${budget.rollover.chunk-size:1000}") int chunkSize,
+            @Value("${budget.rollover.adjust-percent:0}") BigDecimal adjustPercent) {
+        this.budgetRepository = budgetRepository;
+        this.dashboardCache = dashboardCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.adjustPercent = adjustPercent;
+    }
+
+    @Scheduled(cron = "${budget.rollover.cron:0 0 0 1 * *}")
+    public void rolloverToCurrentMonth() {
+        rolloverAll(YearMonth.now().minusMonths(1));
+    }
+
+    public int rolloverAll(YearMonth from) {
+        long started = System.currentTimeMillis();
+        String fromMonth = from.toString();
+        String toMonth = from.plusMonths(1).toString();
+        BigDecimal factor = BudgetService.rolloverFactor(adjustPercent);
+
+        long afterUserId = 0;
+        int users = 0;
+        int copied = 0;
+        while (true) {
+            List<Long> userIds = budgetRepository.findUserIdsWithBudgetsAfter(fromMonth, afterUserId, chunkSize);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            long first = userIds.get(0);
+            long last = userIds.get(userIds.size() - 1);
+            try {
+                Integer inserted = transactionTemplate.execute(status -> {
+                    int rows = budgetRepository.copyMonth(fromMonth, toMonth, factor, first, last);
+                    for (Long userId : userIds) {
+                        dashboardCache.evictUser(userId);
+                        eventPublisher.publishEvent(new SpendChangedEvent(userId, from.plusMonths(1)));
+                    }
+                    return rows;
+                });
+                copied += inserted != null ? inserted : 0;
+            } catch (RuntimeException e) {
+                log.error("Budget rollover {} -> {} failed for users {}..{}", fromMonth, toMonth, first, last, e);
+            }
+            users += userIds.size();
+            afterUserId = last;
+        }
+        log.info("Rolled {} budgets over from {} to {} for {} users in {} ms",
+                copied, fromMonth, toMonth, users, System.currentTimeMillis() - started);
+        return copied;
+    }
+}
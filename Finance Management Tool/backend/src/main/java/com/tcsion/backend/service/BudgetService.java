@@ -1,19 +1,30 @@
 package com.tcsion.backend.service;
 
+import com.tcsion.backend.cache.DashboardCache;
 import com.tcsion.backend.dto.request.BudgetRequest;
+import com.tcsion.backend.dto.request.BulkBudgetRequest;
 import com.tcsion.backend.dto.response.BudgetResponse;
 import com.tcsion.backend.entity.Budget;
-import com.tcsion.backend.entity.Transaction;
+import com.tcsion.backend.entity.Category;
+import com.tcsion.backend.entity.MonthlyRollup;
 import com.tcsion.backend.entity.User;
+import com.tcsion.backend.exception.BadRequestException;
 import com.tcsion.backend.exception.ResourceNotFoundException;
 import com.tcsion.backend.repository.BudgetRepository;
+import com.tcsion.backend.repository.CategoryRepository;
+import com.tcsion.backend.repository.MonthlyRollupRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.YearMonth;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,47 +33,87 @@ public class BudgetService {
 
     private final BudgetRepository budgetRepository;
     private final CategoryService categoryService;
-    private final TransactionService transactionService;
+    private final CategoryRepository categoryRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final DashboardCache dashboardCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
-    public BudgetResponse create(Long userId, BudgetRequest request, User user) {
+    public BudgetResponse create(Long userId, BudgetRequest request) {
         var category = categoryService.getEntityById(request.getCategoryId());
 
-        // Upsert: check if exists
-        var existing = budgetRepository.findByUserIdAndCategoryIdAndBudgetMonth(userId, request.getCategoryId(),
-                request.getBudgetMonth());
-
-        Budget budget;
-        if (existing.isPresent()) {
-            budget = existing.get();
-            budget.setLimitAmount(request.getLimitAmount());
-            // category and month are same
-        } else {
-            budget = Budget.builder()
-                    .budgetMonth(request.getBudgetMonth())
-                    .limitAmount(request.getLimitAmount())
-                    .category(category)
-                    .user(user)
-                    .build();
-        }
-
-        budget = budgetRepository.save(budget);
+        // Insert or update the limit in one statement; no read-then-write race
+        Budget budget = budgetRepository.upsert(userId, category.getId(), request.getBudgetMonth().toString(),
+                request.getLimitAmount());
+        dashboardCache.evictUser(userId);
+        eventPublisher.publishEvent(new SpendChangedEvent(userId, request.getBudgetMonth()));
         BigDecimal spent = getSpentForBudget(budget);
         return toResponse(budget, spent);
     }
 
+    /**
+     * Sets a whole month's budgets in one statement (created or updated per
+     * category) and returns that month's budget status.
+     */
+    @Transactional
+    public List<BudgetResponse> upsertMonth(Long userId, BulkBudgetRequest request) {
+        List<Long> categoryIds = request.getBudgets().stream().map(BulkBudgetRequest.Item::getCategoryId).toList();
+        if (new HashSet<>(categoryIds).size() != categoryIds.size()) {
+            throw new BadRequestException("Each category may appear only once per month");
+        }
+        Map<Long, Category> categories = categoryRepository.findAllById(categoryIds).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+        for (Long categoryId : categoryIds) {
+            Category category = categories.get(categoryId);
+            if (category == null || !(Boolean.TRUE.equals(category.getIsSystem())
+                    || (category.getUser() != null && category.getUser().getId().equals(userId)))) {
+                throw new ResourceNotFoundException("Category", categoryId);
+            }
+        }
+
+        budgetRepository.upsertAll(userId, request.getBudgetMonth(), categoryIds,
+                request.getBudgets().stream().map(BulkBudgetRequest.Item::getLimitAmount).toList());
+        dashboardCache.evictUser(userId);
+        eventPublisher.publishEvent(new SpendChangedEvent(userId, request.getBudgetMonth()));
+        return listByUserAndMonth(userId, request.getBudgetMonth());
+    }
+
+    /**
+     * Copies the user's budgets from {@code from} into the following month,
+     * adjusting each limit by {@code adjustPercent}. Budgets the user already
+     * set for the following month are kept. Returns the new month's status.
+     */
+    @Transactional
+    public List<BudgetResponse> rollover(Long userId, YearMonth from, BigDecimal adjustPercent) {
+        YearMonth to = from.plusMonths(1);
+        int copied = budgetRepository.copyMonth(from.toString(), to.toString(), rolloverFactor(adjustPercent),
+                userId, userId);
+        if (copied > 0) {
+            dashboardCache.evictUser(userId);
+            eventPublisher.publishEvent(new SpendChangedEvent(userId, to));
+        }
+        return listByUserAndMonth(userId, to);
+    }
+
+    static BigDecimal rolloverFactor(BigDecimal adjustPercent) {
+        if (adjustPercent == null) {
+            return BigDecimal.ONE;
+        }
+        if (adjustPercent.compareTo(BigDecimal.valueOf(-100)) <= 0 || adjustPercent.compareTo(BigDecimal.valueOf(1000)) > 0) {
+            throw new BadRequestException("Adjustment must be greater than -100% and at most 1000%");
+        }
+        return BigDecimal.ONE.add(adjustPercent.movePointLeft(2));
+    }
+
     @Transactional(readOnly = true)
     public List<BudgetResponse> listByUser(Long userId) {
-        return budgetRepository.findByUserId(userId).stream()
-                .map(b -> toResponse(b, getSpentForBudget(b)))
-                .collect(Collectors.toList());
+        return toResponses(budgetRepository.findWithSpentByUserId(userId));
     }
 
+    /** Budget status for one month; one query regardless of how many budgets there are. */
     @Transactional(readOnly = true)
     public List<BudgetResponse> listByUserAndMonth(Long userId, YearMonth month) {
-        return budgetRepository.findByUserIdAndBudgetMonth(userId, month).stream()
-                .map(b -> toResponse(b, getSpentForBudget(b)))
-                .collect(Collectors.toList());
+        return toResponses(budgetRepository.findWithSpentByUserIdAndMonth(userId, month));
     }
 
     @Transactional(readOnly = true)
@@ -83,10 +134,20 @@ public class BudgetService {
             throw new ResourceNotFoundException("Budget", id);
         }
         var category = categoryService.getEntityById(request.getCategoryId());
+        // The unique (user, category, month) index would otherwise fail this at commit
+        budgetRepository.findByUserIdAndCategoryIdAndBudgetMonth(userId, category.getId(), request.getBudgetMonth())
+                .filter(other -> !other.getId().equals(id))
+                .ifPresent(other -> {
+                    throw new BadRequestException("A budget for this category and month already exists");
+                });
+        // Both months' alerts change when a budget moves between months
+        Set<YearMonth> months = Set.copyOf(List.of(b.getBudgetMonth(), request.getBudgetMonth()));
         b.setBudgetMonth(request.getBudgetMonth());
         b.setLimitAmount(request.getLimitAmount());
         b.setCategory(category);
         b = budgetRepository.save(b);
+        dashboardCache.evictUser(userId);
+        eventPublisher.publishEvent(new SpendChangedEvent(userId, months));
         return toResponse(b, getSpentForBudget(b));
     }
 
@@ -98,17 +159,21 @@ public class BudgetService {
             throw new ResourceNotFoundException("Budget", id);
         }
         budgetRepository.delete(b);
+        dashboardCache.evictUser(userId);
+        eventPublisher.publishEvent(new SpendChangedEvent(userId, b.getBudgetMonth()));
     }
 
     private BigDecimal getSpentForBudget(Budget budget) {
-        var start = budget.getBudgetMonth().atDay(1);
-        var end = budget.getBudgetMonth().atEndOfMonth();
-        List<Transaction> transactions = transactionService.findByUserIdAndDateBetween(
-                budget.getUser().getId(), start, end);
-        return transactions.stream()
-                .filter(t -> t.getCategory().getId().equals(budget.getCategory().getId()))
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return monthlyRollupRepository.findBucket(budget.getUser().getId(), budget.getBudgetMonth(),
+                        budget.getCategory().getId(), Category.TransactionType.EXPENSE)
+                .map(MonthlyRollup::getSumAmount)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    private List<BudgetResponse> toResponses(List<Object[]> rows) {
+        return rows.stream()
+                .map(row -> toResponse((Budget) row[0], row[1] != null ? (BigDecimal) row[1] : BigDecimal.ZERO))
+                .collect(Collectors.toList());
     }
 
     private BudgetResponse toResponse(Budget b, BigDecimal spentAmount) {
@@ -0,0 +1,133 @@
+package com.tcsion.backend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Money totals kept as {@code long} cents in a grid of rows (months, or any
+ * other index) by category. Amount columns are {@code precision = 15, scale = 2},
+ * so a single value always fits in a long; sums are added with
+ * {@link Math#addExact} and fail loudly instead of wrapping.
+ *
+ * <p>Adding a {@code long} allocates nothing; adding a {@link BigDecimal}
+ * costs one short-lived {@code BigDecimal} for the conversion. Convert back
+ * with {@link #toAmount(long)} only when building a response.
+ */
+public final class CentsAccumulator {
+
+    private static final int INITIAL_SLOTS = 8;
+
+    private final int rows;
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final List<Long> categoryIds = new ArrayList<>();
+    private final long[][] cents;
+    private final int[][] counts;
+    private int capacity = INITIAL_SLOTS;
+
+    public CentsAccumulator(int rows) {
+        this.rows = rows;
+        this.cents = new long[rows][INITIAL_SLOTS];
+        this.counts = new int[rows][INITIAL_SLOTS];
+    }
+
+    public void add(int row, Long categoryId, BigDecimal amount) {
+        add(row, categoryId, toCents(amount));
+    }
+
+    public void add(int row, Long categoryId, long amountCents) {
+        int slot = slotFor(categoryId);
+        cents[row][slot] = addExact(cents[row][slot], amountCents);
+        counts[row][slot]++;
+    }
+
+    public long get(int row, Long categoryId) {
+        Integer slot = slots.get(categoryId);
+        return slot == null ? 0L : cents[row][slot];
+    }
+
+    /** Whether anything was added for this row and category, even if it nets to zero. */
+    public boolean has(int row, Long categoryId) {
+        Integer slot = slots.get(categoryId);
+        return slot != null && counts[row][slot] > 0;
+    }
+
+    /** Total of one row across all categories. */
+    public long rowTotal(int row) {
+        long total = 0;
+        for (int slot = 0; slot < categoryIds.size(); slot++) {
+            total = addExact(total, cents[row][slot]);
+        }
+        return total;
+    }
+
+    /** Total of one category across all rows in {@code [fromRow, toRow)}. */
+    public long categoryTotal(Long categoryId, int fromRow, int toRow) {
+        Integer slot = slots.get(categoryId);
+        if (slot == null) {
+            return 0L;
+        }
+        long total = 0;
+        for (int row = fromRow; row < toRow; row++) {
+            total = addExact(total, cents[row][slot]);
+        }
+        return total;
+    }
+
+    /** Categories in the order they were first added. */
+    public List<Long> categoryIds() {
+        return Collections.unmodifiableList(categoryIds);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * Exact cents of an amount. Fails with {@link ArithmeticException} if the
+     * amount has non-zero digits below a cent or does not fit in a long.
+     */
+    public static long toCents(BigDecimal amount) {
+        if (amount.scale() > 2) {
+            // Finer than stored amounts; only trailing zeros are accepted
+            amount = amount.setScale(2, RoundingMode.UNNECESSARY);
+        }
+        // Shifts the scale without going through a BigInteger for amounts that fit in a long
+        return amount.scaleByPowerOfTen(2).longValueExact();
+    }
+
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    static long addExact(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Amount total exceeds the range of a cents accumulator");
+        }
+    }
+
+    private int slotFor(Long categoryId) {
+        Integer slot = slots.get(categoryId);
+        if (slot != null) {
+            return slot;
+        }
+        int next = categoryIds.size();
+        if (next == capacity) {
+            capacity *= 2;
+            for (int row = 0; row < rows; row++) {
+                cents[row] = Arrays.copyOf(cents[row], capacity);
+                counts[row] = Arrays.copyOf(counts[row], capacity);
+            }
+        }
+        slots.put(categoryId, next);
+        categoryIds.add(categoryId);
+        return next;
+    }
+}
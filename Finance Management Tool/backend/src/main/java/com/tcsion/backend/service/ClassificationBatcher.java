@@ -0,0 +1,159 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.cache.ClassificationCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces single-description classification requests into
+ * {@code /classify/batch} calls. A collector thread waits up to
+ * {@code linger} after the first queued description, or until
+ * {@code max-size} have arrived, then hands the batch off and starts the next
+ * one while it is in flight. Descriptions that normalize to the same text are
+ * sent once per batch, and answers are remembered in {@link ClassificationCache}.
+ *
+ * <p>Futures complete with the category name, or {@code null} when the ML
+ * service could not answer or the queue was full.
+ */
+@Component
+@Slf4j
+public class ClassificationBatcher {
+
+    private record Pending(String key, String description, CompletableFuture<String> future) {
+    }
+
+    private final MLServiceClient mlServiceClient;
+    private final ClassificationCache classificationCache;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final BlockingQueue<Pending> queue;
+    private final ExecutorService dispatcher;
+    private final Thread collector;
+    private final DistributionSummary batchSizes;
+    private final Counter rejected;
+
+    public ClassificationBatcher(MLServiceClient mlServiceClient,
+            ClassificationCache classificationCache,
+            MeterRegistry meterRegistry,
+            @Value("${ml.classify.batch.max-size:64}") int maxBatchSize,
+            @Value("${ml.classify.batch.linger:5ms}") Duration linger,
+            @Value("${ml.classify.batch.queue-capacity:10000}") int queueCapacity) {
+        this.mlServiceClient = mlServiceClient;
+        this.classificationCache = classificationCache;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = linger.toNanos();
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.dispatcher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ml-classify-batch-", 0).factory());
+        this.batchSizes = DistributionSummary.builder("ml.classify.batch.size")
+                .description("Distinct descriptions per /classify/batch call")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("ml.classify.batch.rejected")
+                .description("Classifications dropped because the batch queue was full")
+                .register(meterRegistry);
+        this.collector = Thread.ofVirtual().name("ml-classify-collector").start(this::collect);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        collector.interrupt();
+        dispatcher.shutdownNow();
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.future().complete(null);
+        }
+    }
+
+    /**
+     * Answers from {@link ClassificationCache} when the normalized description
+     * is cached; otherwise queues it for the next batch.
+     */
+    public CompletableFuture<String> classify(String description) {
+        String key = ClassificationCache.normalize(description);
+        String cached = classificationCache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<String> future = new CompletableFuture<>();
+        if (!queue.offer(new Pending(key, description != null ? description : "", future))) {
+            rejected.increment();
+            future.complete(null);
+        }
+        return future;
+    }
+
+    private void collect() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    // Past the deadline, still take whatever is already queued
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!batch.isEmpty()) {
+                List<Pending> ready = List.copyOf(batch);
+                batch.clear();
+                try {
+                    dispatcher.execute(() -> send(ready));
+                } catch (RejectedExecutionException e) {
+                    ready.forEach(pending -> pending.future().complete(null));
+                }
+            }
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        // One description per normalized key; the service would clean them all to the same text
+        Map<String, List<CompletableFuture<String>>> byKey = new LinkedHashMap<>();
+        List<String> descriptions = new ArrayList<>();
+        for (Pending pending : batch) {
+            byKey.computeIfAbsent(pending.key(), k -> {
+                descriptions.add(pending.description());
+                return new ArrayList<>();
+            }).add(pending.future());
+        }
+        List<String> keys = new ArrayList<>(byKey.keySet());
+        batchSizes.record(keys.size());
+
+        List<String> categories = null;
+        try {
+            categories = mlServiceClient.classifyTransactions(descriptions);
+        } catch (RuntimeException e) {
+            log.warn("ML batch classification failed: {}", e.getMessage());
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            String category = categories != null ? categories.get(i) : null;
+            if (category != null) {
+                classificationCache.put(keys.get(i), category);
+            }
+            byKey.get(keys.get(i)).forEach(future -> future.complete(category));
+        }
+    }
+}
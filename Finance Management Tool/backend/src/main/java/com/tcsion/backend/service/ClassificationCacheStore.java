@@ -0,0 +1,84 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.cache.ClassificationCache;
+import com.tcsion.backend.entity.ClassificationCacheEntry;
+import com.tcsion.backend.repository.ClassificationCacheRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps {@link ClassificationCache} in the classification_cache table so a
+ * restart does not start cold: the newest unexpired rows are loaded at
+ * startup, and new predictions are written back periodically in one batch.
+ * Only active with {@code cache.classification.persist=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.classification.persist", havingValue = "true")
+@Slf4j
+public class ClassificationCacheStore {
+
+    private final ClassificationCache classificationCache;
+    private final ClassificationCacheRepository classificationCacheRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ClassificationCacheStore(ClassificationCache classificationCache,
+            ClassificationCacheRepository classificationCacheRepository,
+            PlatformTransactionManager transactionManager) {
+        this.classificationCache = classificationCache;
+        this.classificationCacheRepository = classificationCacheRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Instant cutoff = Instant.now().minus(classificationCache.getTtl());
+        List<ClassificationCacheEntry> rows = classificationCacheRepository.findByClassifiedAtAfterOrderByClassifiedAtDesc(
+                cutoff, PageRequest.of(0, classificationCache.getMaxEntries()));
+        // Oldest first, so the newest end up most recently used
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            ClassificationCacheEntry row = rows.get(i);
+            classificationCache.restore(row.getDescriptionKey(),
+                    new ClassificationCache.Entry(row.getCategory(), row.getClassifiedAt()));
+        }
+        log.info("Loaded {} cached classifications", rows.size());
+    }
+
+    @Scheduled(fixedDelayString = "${cache.classification.flush-interval:PT30S}")
+    public void flush() {
+        Map<String, ClassificationCache.Entry> unsaved = classificationCache.drainUnsaved();
+        List<ClassificationCacheEntry> rows = unsaved.entrySet().stream()
+                .map(e -> ClassificationCacheEntry.builder()
+                        .descriptionKey(e.getKey())
+                        .category(e.getValue().category())
+                        .classifiedAt(e.getValue().classifiedAt())
+                        .build())
+                .toList();
+        Instant cutoff = Instant.now().minus(classificationCache.getTtl());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                classificationCacheRepository.upsertAll(rows);
+                classificationCacheRepository.deleteClassifiedBefore(cutoff);
+            });
+        } catch (RuntimeException e) {
+            // The cache itself is unaffected; these rows are simply not persisted
+            log.warn("Saving {} cached classifications failed", rows.size(), e);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
@@ -1,112 +1,108 @@
 package com.tcsion.backend.service;
 
+import com.tcsion.backend.cache.DashboardCache;
 import com.tcsion.backend.dto.response.DashboardResponse;
-import com.tcsion.backend.entity.Category;
-import com.tcsion.backend.entity.Transaction;
+import com.tcsion.backend.entity.FinancialHealth;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.time.Duration;
 import java.time.YearMonth;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class DashboardService {
 
-    private final TransactionService transactionService;
+    private final TransactionAggregationService transactionAggregationService;
     private final FinancialHealthService financialHealthService;
-    private final com.tcsion.backend.repository.BudgetRepository budgetRepository;
+    private final BudgetAlertService budgetAlertService;
+    private final DashboardCache dashboardCache;
+    private final PlatformTransactionManager transactionManager;
+
+    // Sections block on JDBC, so one cheap virtual thread per section
+    private final ExecutorService sectionExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("dashboard-section-", 0).factory());
+
+    @Value("${dashboard.deadline:PT2S}")
+    private Duration deadline;
+
+    @PreDestroy
+    void shutdown() {
+        sectionExecutor.shutdownNow();
+    }
 
-    @Transactional(readOnly = true)
     public DashboardResponse getOverview(Long userId) {
         YearMonth current = YearMonth.now();
-        LocalDate start = current.atDay(1);
-        LocalDate end = current.atEndOfMonth();
+        return dashboardCache.overview(userId, current, () -> buildOverview(userId, current));
+    }
+
+    /**
+     * Loads the summary, health score and precomputed budget alerts concurrently. Each section
+     * runs in its own read-only transaction (and so on its own connection); a
+     * section that misses the overall deadline or fails is replaced by an
+     * empty value and reported in {@code degradedSections}.
+     *
+     * <p>Cancelling a section's future does not stop its query, so each
+     * section's transaction times out at the deadline as well: its statements
+     * get a query timeout and the connection is released.
+     */
+    private DashboardResponse buildOverview(Long userId, YearMonth current) {
+        YearMonth from = current.minusMonths(5);
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        CompletableFuture<SpendingSummary> summaryFuture = submit(deadlineNanos,
+                () -> transactionAggregationService.summarize(userId, from, current));
+        CompletableFuture<Integer> healthFuture = submit(deadlineNanos,
+                () -> financialHealthService.getLatestByUserId(userId).map(FinancialHealth::getScore).orElse(0));
+        CompletableFuture<List<String>> alertsFuture = submit(deadlineNanos,
+                () -> budgetAlertService.getMessages(userId, current));
 
-        BigDecimal income = transactionService.sumByUserIdAndTypeAndDateBetween(userId, Category.TransactionType.INCOME,
-                start, end);
-        BigDecimal expenses = transactionService.sumByUserIdAndTypeAndDateBetween(userId,
-                Category.TransactionType.EXPENSE, start, end);
+        List<String> degraded = new ArrayList<>();
+        SpendingSummary summary = await(userId, "summary", summaryFuture, deadlineNanos,
+                new SpendingSummary(from, current), degraded);
+        int healthScore = await(userId, "healthScore", healthFuture, deadlineNanos, 0, degraded);
+        List<String> alerts = await(userId, "alerts", alertsFuture, deadlineNanos,
+                Collections.<String>emptyList(), degraded);
+
+        BigDecimal income = summary.income(current);
+        BigDecimal expenses = summary.expenses(current);
         BigDecimal netSavings = income.subtract(expenses);
 
-        int healthScore = financialHealthService.getLatestByUserId(userId)
-                .map(fh -> fh.getScore())
-                .orElse(0);
-
-        List<Transaction> transactions = transactionService.findByUserIdAndDateBetween(userId, start, end);
-        Map<Long, BigDecimal> byCategory = new HashMap<>();
-        Map<String, String> categoryNames = new HashMap<>();
-        for (Transaction t : transactions) {
-            if (t.getType() == Category.TransactionType.EXPENSE) {
-                byCategory.merge(t.getCategory().getId(), t.getAmount(), BigDecimal::add);
-                categoryNames.putIfAbsent(t.getCategory().getId().toString(), t.getCategory().getName());
-            }
-        }
+        Map<Long, BigDecimal> byCategory = summary.expenseByCategory(current);
         List<Map<String, Object>> spendingByCategory = byCategory.entrySet().stream()
                 .map(e -> {
                     Map<String, Object> m = new HashMap<>();
                     m.put("categoryId", e.getKey());
-                    m.put("categoryName", categoryNames.get(e.getKey().toString()));
+                    m.put("categoryName", summary.categoryName(e.getKey()));
                     m.put("amount", e.getValue());
                     return m;
                 })
                 .collect(Collectors.toList());
 
         List<Map<String, Object>> monthlyTrends = new ArrayList<>();
-        for (int i = 5; i >= 0; i--) {
-            YearMonth month = current.minusMonths(i);
-            LocalDate ms = month.atDay(1);
-            LocalDate me = month.atEndOfMonth();
-            BigDecimal mi = transactionService.sumByUserIdAndTypeAndDateBetween(userId, Category.TransactionType.INCOME,
-                    ms, me);
-            BigDecimal mx = transactionService.sumByUserIdAndTypeAndDateBetween(userId,
-                    Category.TransactionType.EXPENSE, ms, me);
+        for (YearMonth month : summary.months()) {
             Map<String, Object> m = new HashMap<>();
             m.put("month", month.toString());
-            m.put("income", mi);
-            m.put("expenses", mx);
+            m.put("income", summary.income(month));
+            m.put("expenses", summary.expenses(month));
             monthlyTrends.add(m);
         }
 
-        // Generate Alerts
-        List<String> alerts = new ArrayList<>();
-        List<com.tcsion.backend.entity.Budget> budgets = budgetRepository.findByUserIdAndBudgetMonth(userId, current);
-
-        int daysInMonth = current.lengthOfMonth();
-        int daysPassed = LocalDate.now().getDayOfMonth();
-
-        for (com.tcsion.backend.entity.Budget b : budgets) {
-            BigDecimal spent = byCategory.getOrDefault(b.getCategory().getId(), BigDecimal.ZERO);
-            // Linear projection
-            BigDecimal projected = BigDecimal.ZERO;
-            if (daysPassed > 0) {
-                projected = spent.divide(BigDecimal.valueOf(daysPassed), 2, java.math.RoundingMode.HALF_UP)
-                        .multiply(BigDecimal.valueOf(daysInMonth));
-            }
-
-            if (projected.compareTo(b.getLimitAmount()) > 0) {
-                // Only alert if we are significantly projected to go over (e.g. > 100%) and not
-                // just because it's day 1
-                // And if current spending is already substantial (e.g. > 10% of budget) to
-                // avoid noise
-                if (daysPassed > 5 && spent.compareTo(b.getLimitAmount().multiply(BigDecimal.valueOf(0.1))) > 0) {
-                    String catName = categoryNames.getOrDefault(b.getCategory().getId().toString(),
-                            b.getCategory().getName());
-                    alerts.add(String.format("⚠️ Projected to overspend on %s. Budget: %s, Projected: %s",
-                            catName, b.getLimitAmount(), projected.toPlainString()));
-                } else if (spent.compareTo(b.getLimitAmount()) > 0) {
-                    String catName = categoryNames.getOrDefault(b.getCategory().getId().toString(),
-                            b.getCategory().getName());
-                    alerts.add(String.format("🚨 Over budget on %s! Limit: %s, Spent: %s",
-                            catName, b.getLimitAmount(), spent));
-                }
-            }
-        }
-
         return DashboardResponse.builder()
                 .totalIncome(income)
                 .totalExpenses(expenses)
@@ -115,6 +111,35 @@ public class DashboardService {
                 .spendingByCategory(spendingByCategory)
                 .monthlyTrends(monthlyTrends)
                 .alerts(alerts)
+                .partial(!degraded.isEmpty())
+                .degradedSections(degraded)
                 .build();
     }
+
+    private <T> CompletableFuture<T> submit(long deadlineNanos, Supplier<T> section) {
+        return CompletableFuture.supplyAsync(() -> {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            // Transaction timeouts are whole seconds; round up so a section is never cut short of the deadline
+            long remainingNanos = Math.max(0, deadlineNanos - System.nanoTime());
+            transaction.setTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos + 999_999_999L)));
+            return transaction.execute(status -> section.get());
+        }, sectionExecutor);
+    }
+
+    private <T> T await(Long userId, String section, CompletableFuture<T> future, long deadlineNanos,
+            T fallback, List<String> degraded) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Dashboard section {} timed out for user {}", section, userId);
+        } catch (ExecutionException e) {
+            log.warn("Dashboard section {} failed for user {}", section, userId, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        degraded.add(section);
+        return fallback;
+    }
 }
@@ -0,0 +1,83 @@
+package com.tcsion.backend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Scores one month of income and expenses. Shared by the on-demand health
+ * score and the nightly {@link FinancialHealthScoringJob} so both give the
+ * same answer.
+ */
+final class FinancialHealthCalculator {
+
+    private FinancialHealthCalculator() {
+    }
+
+    record Result(int score, String status, String suggestion, BigDecimal income, BigDecimal expenses,
+            double savingsRateScore, double controlScore) {
+
+        Map<String, Object> metrics() {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("income", income);
+            metrics.put("expenses", expenses);
+            metrics.put("savingsRateScore", savingsRateScore);
+            metrics.put("controlScore", controlScore);
+            return metrics;
+        }
+
+        Map<String, Object> recommendations() {
+            Map<String, Object> recommendations = new LinkedHashMap<>();
+            recommendations.put("status", status);
+            recommendations.put("suggestion", suggestion);
+            return recommendations;
+        }
+    }
+
+    static Result score(BigDecimal income, BigDecimal expense) {
+        // 1. Savings Rate Score (50% weight)
+        // Ideal savings rate is 20%. If >= 20%, score 50 points.
+        double savingsRateScore = 0;
+        if (income.compareTo(BigDecimal.ZERO) > 0) {
+            BigDecimal savings = income.subtract(expense);
+            double rate = savings.divide(income, 2, RoundingMode.HALF_UP).doubleValue(); // e.g. 0.20
+            savingsRateScore = Math.min(rate * 250, 50); // 0.2 * 250 = 50 pts. 0.1 * 250 = 25 pts.
+            if (savingsRateScore < 0)
+                savingsRateScore = 0;
+        }
+
+        // 2. Spending Control Score (50% weight)
+        // If expense < income, full 50 points. If expense > income, lose points.
+        double controlScore = 0;
+        if (expense.compareTo(income) <= 0) {
+            controlScore = 50;
+        } else {
+            // Overspending penalty
+            if (income.compareTo(BigDecimal.ZERO) > 0) {
+                double overspendRatio = expense.subtract(income).divide(income, 2, RoundingMode.HALF_UP).doubleValue();
+                controlScore = Math.max(0, 50 - (overspendRatio * 100)); // Lose 1 pt for every 1% over
+            }
+        }
+
+        int totalScore = (int) (savingsRateScore + controlScore);
+        String status;
+        if (totalScore >= 80)
+            status = "Excellent";
+        else if (totalScore >= 60)
+            status = "Good";
+        else if (totalScore >= 40)
+            status = "Fair";
+        else
+            status = "Needs Attention";
+
+        // Suggestion based on score
+        String suggestion = "Keep up the consistent saving!";
+        if (totalScore < 40)
+            suggestion = "Try to cut down discretionary expenses.";
+        else if (savingsRateScore < 10)
+            suggestion = "Aim to save at least 20% of income.";
+
+        return new Result(totalScore, status, suggestion, income, expense, savingsRateScore, controlScore);
+    }
+}
@@ -0,0 +1,134 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.cache.DashboardCache;
+import com.tcsion.backend.dto.projection.IncomeExpenseTotal;
+import com.tcsion.backend.entity.FinancialHealth;
+import com.tcsion.backend.entity.User;
+import com.tcsion.backend.repository.FinancialHealthRepository;
+import com.tcsion.backend.repository.MonthlyRollupRepository;
+import com.tcsion.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Writes every active user's monthly financial-health score to
+ * financial_health, so the health-score endpoint and the dashboard read one
+ * row instead of scoring on request.
+ *
+ * <p>Users are split into chunks scored on virtual threads, at most
+ * {@code parallelism} chunks at a time. Each chunk reads its income and
+ * expense totals with one grouped rollup query and writes the scores as one
+ * batched upsert in its own transaction.
+ */
+@Component
+@Slf4j
+public class FinancialHealthScoringJob {
+
+    private final UserRepository userRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final FinancialHealthRepository financialHealthRepository;
+    private final DashboardCache dashboardCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+
+    public FinancialHealthScoringJob(UserRepository userRepository,
+            MonthlyRollupRepository monthlyRollupRepository,
+            FinancialHealthRepository financialHealthRepository,
+            DashboardCache dashboardCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${health.scoring.chunk-size:500}") int chunkSize,
+            @Value("${health.scoring.parallelism:4}") int parallelism) {
+        this.userRepository = userRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.financialHealthRepository = financialHealthRepository;
+        this.dashboardCache = dashboardCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /** Rescores the current month; on the 1st, also settles the month that just ended. */
+    @Scheduled(cron = "${health.scoring.cron:0 0 2 * * *}")
+    public void scoreNightly() {
+        YearMonth current = YearMonth.now();
+        if (LocalDate.now().getDayOfMonth() == 1) {
+            scoreMonth(current.minusMonths(1));
+        }
+        scoreMonth(current);
+    }
+
+    public int scoreMonth(YearMonth month) {
+        long started = System.currentTimeMillis();
+        List<Long> userIds = userRepository.findAllIds();
+        List<Future<Integer>> chunks = new ArrayList<>();
+        Semaphore permits = new Semaphore(parallelism);
+        int scored = 0;
+        int failedChunks = 0;
+
+        try (ExecutorService pool = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("health-scoring-", 0).factory())) {
+            for (int from = 0; from < userIds.size(); from += chunkSize) {
+                List<Long> chunk = userIds.subList(from, Math.min(from + chunkSize, userIds.size()));
+                chunks.add(pool.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return scoreChunk(chunk, month);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (Future<Integer> chunk : chunks) {
+                try {
+                    scored += chunk.get();
+                } catch (ExecutionException e) {
+                    failedChunks++;
+                    log.error("Health scoring chunk for {} failed", month, e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        log.info("Scored financial health for {} users for {} in {} ms ({} failed chunks)",
+                scored, month, System.currentTimeMillis() - started, failedChunks);
+        return scored;
+    }
+
+    int scoreChunk(List<Long> userIds, YearMonth month) {
+        Integer scored = transactionTemplate.execute(status -> {
+            List<FinancialHealth> scores = new ArrayList<>();
+            for (IncomeExpenseTotal totals : monthlyRollupRepository.sumIncomeAndExpenseByUser(userIds, month.toString())) {
+                FinancialHealthCalculator.Result result = FinancialHealthCalculator.score(
+                        totals.getIncome(), totals.getExpenses());
+                scores.add(FinancialHealth.builder()
+                        .user(User.builder().id(totals.getUserId()).build())
+                        .scoreMonth(month)
+                        .score(result.score())
+                        .metrics(result.metrics())
+                        .recommendations(result.recommendations())
+                        .build());
+            }
+            financialHealthRepository.upsertAll(scores);
+            scores.forEach(score -> dashboardCache.evictUser(score.getUser().getId()));
+            return scores.size();
+        });
+        return scored != null ? scored : 0;
+    }
+}
@@ -1,22 +1,39 @@
 package com.tcsion.backend.service;
 
+import com.tcsion.backend.cache.DashboardCache;
+import com.tcsion.backend.dto.projection.HealthScorePoint;
+import com.tcsion.backend.dto.projection.IncomeExpenseTotal;
 import com.tcsion.backend.entity.FinancialHealth;
 import com.tcsion.backend.entity.User;
 import com.tcsion.backend.repository.FinancialHealthRepository;
+import com.tcsion.backend.repository.MonthlyRollupRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 @RequiredArgsConstructor
 public class FinancialHealthService {
 
     private final FinancialHealthRepository financialHealthRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final DashboardCache dashboardCache;
+    private final PlatformTransactionManager transactionManager;
 
     @Transactional(readOnly = true)
     public Optional<FinancialHealth> getLatestByUserId(Long userId) {
@@ -27,4 +44,92 @@ public class FinancialHealthService {
     public Optional<FinancialHealth> getByUserIdAndMonth(Long userId, YearMonth month) {
         return financialHealthRepository.findByUserIdAndScoreMonth(userId, month);
     }
+
+    /**
+     * Stored scores for {@code from..to}, read without a transaction of its
+     * own. Months without a stored score (history from before the scoring job
+     * ran, users it skipped, or months invalidated by a backdated write) are
+     * scored from one grouped rollup query over the missing range. Only when
+     * that finds activity are the scores written back, in a short transaction
+     * under the user's score lock. Months without any activity have no score.
+     */
+    public NavigableMap<YearMonth, Integer> getScoreHistory(Long userId, YearMonth from, YearMonth to) {
+        NavigableMap<YearMonth, Integer> history = new TreeMap<>();
+        for (HealthScorePoint point : financialHealthRepository.findScoreHistory(userId, from.toString(), to.toString())) {
+            history.put(YearMonth.parse(point.getScoreMonth()), point.getScore());
+        }
+        if (history.size() == from.until(to, ChronoUnit.MONTHS) + 1) {
+            return history;
+        }
+
+        YearMonth firstMissing = from;
+        while (history.containsKey(firstMissing)) {
+            firstMissing = firstMissing.plusMonths(1);
+        }
+        YearMonth lastMissing = to;
+        while (history.containsKey(lastMissing)) {
+            lastMissing = lastMissing.minusMonths(1);
+        }
+        Set<YearMonth> stored = Set.copyOf(history.keySet());
+        if (scoreMissing(userId, firstMissing, lastMissing, stored).isEmpty()) {
+            return history;
+        }
+
+        YearMonth first = firstMissing;
+        YearMonth last = lastMissing;
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // Rescore under the lock: a backdated write may have moved the rollups since the read above
+            financialHealthRepository.lockUserScores(userId);
+            List<FinancialHealth> backfill = scoreMissing(userId, first, last, stored);
+            backfill.forEach(score -> history.put(score.getScoreMonth(), score.getScore()));
+            if (!backfill.isEmpty()) {
+                financialHealthRepository.upsertAll(backfill);
+            }
+        });
+        return history;
+    }
+
+    private List<FinancialHealth> scoreMissing(Long userId, YearMonth from, YearMonth to, Set<YearMonth> stored) {
+        List<FinancialHealth> scores = new ArrayList<>();
+        for (IncomeExpenseTotal totals : monthlyRollupRepository.sumIncomeAndExpenseByMonth(
+                userId, from.toString(), to.toString())) {
+            YearMonth month = YearMonth.parse(totals.getYearMonth());
+            if (stored.contains(month)) {
+                continue;
+            }
+            FinancialHealthCalculator.Result result = FinancialHealthCalculator.score(
+                    totals.getIncome(), totals.getExpenses());
+            scores.add(FinancialHealth.builder()
+                    .user(User.builder().id(userId).build())
+                    .scoreMonth(month)
+                    .score(result.score())
+                    .metrics(result.metrics())
+                    .recommendations(result.recommendations())
+                    .build());
+        }
+        return scores;
+    }
+
+    /**
+     * Drops the stored scores of completed months a write has just changed,
+     * so the history rescores them from the rollups, and evicts the cached
+     * history once the write commits. The current month is left to the
+     * scoring job. Must run in the writing transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void invalidateCompletedMonths(Long userId, Collection<YearMonth> months) {
+        YearMonth current = YearMonth.now();
+        List<String> completed = months.stream()
+                .filter(month -> month.isBefore(current))
+                .distinct()
+                .map(YearMonth::toString)
+                .toList();
+        if (completed.isEmpty()) {
+            return;
+        }
+        // Held until commit, so a concurrent backfill waits for the new rollups
+        financialHealthRepository.lockUserScores(userId);
+        financialHealthRepository.deleteByUserIdAndScoreMonths(userId, completed);
+        dashboardCache.evictHealthHistory(userId);
+    }
 }
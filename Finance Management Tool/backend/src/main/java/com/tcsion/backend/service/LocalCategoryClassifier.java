@@ -0,0 +1,192 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.cache.ClassificationCache;
+import com.tcsion.backend.dto.projection.CategorizedDescription;
+import com.tcsion.backend.dto.response.CategorySuggestion;
+import com.tcsion.backend.entity.Transaction;
+import com.tcsion.backend.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-process category classifier trained on each user's own categorized
+ * transactions, so most suggestions never leave the JVM and categorization
+ * keeps working without the ML service.
+ *
+ * <p>A user's {@link NaiveBayesModel} is built from their most recent
+ * {@code training-limit} transactions on first use and then learns from every
+ * created transaction once it commits. Edits and deletes drop the model once
+ * they commit, so it is rebuilt from the database next time; a build that
+ * raced such a drop answers its caller but is not kept. Only the
+ * {@code max-users} most recently used models are kept.
+ *
+ * <p>A prediction is only returned once the model has seen
+ * {@code min-training-size} transactions and is at least
+ * {@code min-confidence} sure; otherwise callers fall back to the ML service.
+ */
+@Component
+public class LocalCategoryClassifier {
+
+    // 1024 buckets: 4 KB of counts per category per user
+    private static final int BUCKET_BITS = 10;
+
+    private final TransactionRepository transactionRepository;
+    private final int maxUsers;
+    private final double minConfidence;
+    private final int minTrainingSize;
+    private final int trainingLimit;
+
+    private final LinkedHashMap<Long, NaiveBayesModel> models = new LinkedHashMap<>(16, 0.75f, true);
+    // Bumped by every eviction; a build that started before the bump may predate the change
+    private long evictions;
+
+    private final Counter confident;
+    private final Counter unsure;
+
+    public LocalCategoryClassifier(TransactionRepository transactionRepository,
+            MeterRegistry meterRegistry,
+            @Value("${classifier.local.max-users:1000}") int maxUsers,
+            @Value("${classifier.local.min-confidence:0.8}") double minConfidence,
+            @Value("${classifier.local.min-training-size:20}") int minTrainingSize,
+            @Value("${classifier.local.training-limit:5000}") int trainingLimit) {
+        this.transactionRepository = transactionRepository;
+        this.maxUsers = maxUsers;
+        this.minConfidence = minConfidence;
+        this.minTrainingSize = minTrainingSize;
+        this.trainingLimit = trainingLimit;
+
+        this.confident = Counter.builder("classifier.local.predictions").tag("outcome", "confident")
+                .description("Classifications answered by the in-process model")
+                .register(meterRegistry);
+        this.unsure = Counter.builder("classifier.local.predictions").tag("outcome", "fallback")
+                .description("Classifications left to the ML service")
+                .register(meterRegistry);
+        Gauge.builder("classifier.local.models", this, LocalCategoryClassifier::modelCount)
+                .register(meterRegistry);
+    }
+
+    public Optional<CategorySuggestion> classify(Long userId, String description) {
+        String normalized = ClassificationCache.normalize(description);
+        NaiveBayesModel model = modelFor(userId);
+        NaiveBayesModel.Prediction prediction;
+        synchronized (model) {
+            prediction = model.documents() >= minTrainingSize ? model.predict(normalized) : null;
+        }
+        if (prediction == null || prediction.confidence() < minConfidence) {
+            unsure.increment();
+            return Optional.empty();
+        }
+        confident.increment();
+        return Optional.of(CategorySuggestion.builder()
+                .categoryId(prediction.categoryId())
+                .categoryName(prediction.categoryName())
+                .confidence(prediction.confidence())
+                .source(CategorySuggestion.Source.LOCAL)
+                .build());
+    }
+
+    /**
+     * Trains the user's model on a saved transaction once the surrounding
+     * transaction commits. Users without a loaded model are skipped; the
+     * transaction is in the database when their model is built. Never builds
+     * a model, so write transactions do not pay for the training query.
+     */
+    public void learn(Transaction transaction) {
+        if (transaction.getDescription() == null || transaction.getDescription().isBlank()) {
+            return;
+        }
+        Long userId = transaction.getUser().getId();
+        long categoryId = transaction.getCategory().getId();
+        String categoryName = transaction.getCategory().getName();
+        String normalized = ClassificationCache.normalize(transaction.getDescription());
+        Runnable train = () -> {
+            NaiveBayesModel model;
+            synchronized (this) {
+                model = models.get(userId);
+            }
+            if (model != null) {
+                synchronized (model) {
+                    model.train(categoryId, categoryName, normalized);
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    train.run();
+                }
+            });
+        } else {
+            train.run();
+        }
+    }
+
+    /** Drops the user's model once the surrounding transaction commits, so a rebuild sees the change. */
+    public void evictUser(Long userId) {
+        Runnable evict = () -> {
+            synchronized (this) {
+                models.remove(userId);
+                evictions++;
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    public synchronized int modelCount() {
+        return models.size();
+    }
+
+    private NaiveBayesModel modelFor(Long userId) {
+        long evictionsBefore;
+        synchronized (this) {
+            NaiveBayesModel model = models.get(userId);
+            if (model != null) {
+                return model;
+            }
+            evictionsBefore = evictions;
+        }
+        // Train outside the lock; a concurrent build for the same user just loses the race
+        NaiveBayesModel model = new NaiveBayesModel(BUCKET_BITS);
+        for (CategorizedDescription sample : transactionRepository.findTrainingSamples(userId, Limit.of(trainingLimit))) {
+            model.train(sample.getCategoryId(), sample.getCategoryName(),
+                    ClassificationCache.normalize(sample.getDescription()));
+        }
+        synchronized (this) {
+            if (evictions != evictionsBefore) {
+                return model;
+            }
+            NaiveBayesModel existing = models.putIfAbsent(userId, model);
+            trimToSize();
+            return existing != null ? existing : model;
+        }
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<Long, NaiveBayesModel>> it = models.entrySet().iterator();
+        while (models.size() > maxUsers && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -1,119 +1,203 @@
 package com.tcsion.backend.service;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.tcsion.backend.dto.request.TransactionRequest;
+import com.tcsion.backend.dto.response.MLPredictionResponse;
+import com.tcsion.backend.dto.response.ParseResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Client for the Python ML service. All calls share one JDK {@link HttpClient},
+ * which keeps connections alive and reuses them across requests (HTTP/1.1 by
+ * default, h2c when {@code ml.service.http2} is set).
+ *
+ * <p>Each operation has its own request timeout, and every call goes through
+ * {@link MLServiceGuard}: a full bulkhead or an open circuit turns the call
+ * away immediately rather than queueing behind a slow or dead service. Every
+ * method returns {@code null} when the service cannot answer.
+ *
+ * <p>Metrics: {@code ml.client.requests} (timer, by operation and outcome);
+ * see {@link MLServiceGuard} for the breaker and bulkhead meters.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class MLServiceClient {
 
-    @Value("${ml.service.base-url}")
-    private String mlServiceBaseUrl;
+    static final String CLASSIFY = "classify";
+    static final String CLASSIFY_BATCH = "classify-batch";
+    static final String PREDICT = "predict";
+    static final String PARSE = "parse";
 
-    private final RestTemplate restTemplate;
+    private final String baseUrl;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Duration> timeouts;
+    private final MLServiceGuard guard;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+
+    public MLServiceClient(ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            MLServiceGuard guard,
+            @Value("${ml.service.base-url}") String baseUrl,
+            @Value("${ml.service.http2:false}") boolean http2,
+            @Value("${ml.service.connect-timeout:PT1S}") Duration connectTimeout,
+            @Value("${ml.service.classify-timeout:PT2S}") Duration classifyTimeout,
+            @Value("${ml.service.classify-batch-timeout:PT5S}") Duration classifyBatchTimeout,
+            @Value("${ml.service.predict-timeout:PT10S}") Duration predictTimeout,
+            @Value("${ml.service.parse-timeout:PT3S}") Duration parseTimeout) {
+        this.baseUrl = baseUrl;
+        // Ignore fields the service adds to its responses, as the RestTemplate converter did
+        this.objectMapper = objectMapper.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.meterRegistry = meterRegistry;
+        this.timeouts = Map.of(CLASSIFY, classifyTimeout, CLASSIFY_BATCH, classifyBatchTimeout,
+                PREDICT, predictTimeout, PARSE, parseTimeout);
+        this.guard = guard;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ml-client-", 0).factory());
+        this.httpClient = HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        httpClient.close();
+        executor.shutdownNow();
+    }
 
     /**
      * Call ML service to classify transaction description into a category.
      * Returns category name or null if service unavailable.
      */
     public String classifyTransaction(String description) {
-        try {
-            String url = mlServiceBaseUrl + "/classify";
-            Map<String, Object> body = new HashMap<>();
-            body.put("description", description != null ? description : "");
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
-
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                JsonNode node = objectMapper.readTree(response.getBody());
-                if (node.has("predicted_category")) {
-                    return node.get("predicted_category").asText();
-                }
-            }
-        } catch (Exception e) {
-            log.warn("ML classification failed: {}", e.getMessage());
+        Map<String, Object> body = new HashMap<>();
+        body.put("description", description != null ? description : "");
+        JsonNode node = post(CLASSIFY, "/classify", body, JsonNode.class);
+        if (node != null && node.hasNonNull("predicted_category")) {
+            return node.get("predicted_category").asText();
         }
         return null;
     }
 
     /**
-     * Call ML service to predict spending for upcoming months.
+     * Classifies many descriptions in one request. Returns the category names
+     * in input order, or null if the service is unavailable.
      */
-    public com.tcsion.backend.dto.response.MLPredictionResponse predictSpending(
-            java.util.List<com.tcsion.backend.dto.request.TransactionRequest> transactions) {
-        try {
-            String url = mlServiceBaseUrl + "/predict";
-            Map<String, Object> body = new HashMap<>();
-
-            // Map TransactionRequest to structure expected by ML service (date as string)
-            var txList = transactions.stream().map(t -> {
-                Map<String, Object> m = new java.util.HashMap<>();
-                m.put("amount", t.getAmount());
-                m.put("date", t.getTransactionDate().toString());
-                m.put("type", t.getType().toString());
-                m.put("description", t.getDescription());
-                m.put("category", t.getCategoryName());
-                // category is optional for ML if description is good, but let's pass it if
-                // needed?
-                // ML service predict_spending uses "description" or "category" logic.
-                // Let's stick to what ML service expects:
-                // class Transaction(BaseModel):
-                // amount: float
-                // date: str
-                // type: str # INCOME/EXPENSE
-                // description: Optional[str] = None
-                return m;
-            }).toList();
-
-            body.put("transactions", txList);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
-
-            ResponseEntity<com.tcsion.backend.dto.response.MLPredictionResponse> response = restTemplate.exchange(url,
-                    HttpMethod.POST, entity, com.tcsion.backend.dto.response.MLPredictionResponse.class);
-
-            if (response.getStatusCode().is2xxSuccessful()) {
-                return response.getBody();
-            }
-        } catch (Exception e) {
-            log.warn("ML prediction failed: {}", e.getMessage());
+    public List<String> classifyTransactions(List<String> descriptions) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("descriptions", descriptions.stream().map(d -> d != null ? d : "").toList());
+        JsonNode node = post(CLASSIFY_BATCH, "/classify/batch", body, JsonNode.class);
+        if (node == null || !node.path("results").isArray() || node.get("results").size() != descriptions.size()) {
+            return null;
         }
-        return null;
+        List<String> categories = new ArrayList<>(descriptions.size());
+        for (JsonNode result : node.get("results")) {
+            categories.add(result.hasNonNull("predicted_category") ? result.get("predicted_category").asText() : null);
+        }
+        return categories;
     }
 
-    public com.tcsion.backend.dto.response.ParseResponse parseTransaction(String text) {
-        try {
-            String url = mlServiceBaseUrl + "/nlp/parse";
-            Map<String, String> body = new HashMap<>();
-            body.put("text", text);
+    /**
+     * Call ML service to predict spending for upcoming months.
+     */
+    public MLPredictionResponse predictSpending(List<TransactionRequest> transactions) {
+        // Map TransactionRequest to structure expected by ML service (date as string)
+        var txList = transactions.stream().map(t -> {
+            Map<String, Object> m = new HashMap<>();
+            m.put("amount", t.getAmount());
+            m.put("date", t.getTransactionDate().toString());
+            m.put("type", t.getType().toString());
+            m.put("description", t.getDescription());
+            m.put("category", t.getCategoryName());
+            return m;
+        }).toList();
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("transactions", txList);
+        return post(PREDICT, "/predict", body, MLPredictionResponse.class);
+    }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<Map<String, String>> entity = new HttpEntity<>(body, headers);
+    public ParseResponse parseTransaction(String text) {
+        Map<String, String> body = new HashMap<>();
+        body.put("text", text);
+        return post(PARSE, "/nlp/parse", body, ParseResponse.class);
+    }
 
-            ResponseEntity<com.tcsion.backend.dto.response.ParseResponse> response = restTemplate.exchange(url,
-                    HttpMethod.POST, entity, com.tcsion.backend.dto.response.ParseResponse.class);
-            if (response.getStatusCode().is2xxSuccessful()) {
-                return response.getBody();
+    private <T> T post(String operation, String path, Object body, Class<T> responseType) {
+        Duration timeout = timeouts.get(operation);
+        MLServiceGuard.Permit permit = guard.tryAcquire(operation, timeout);
+        if (permit == null) {
+            log.debug("ML {} skipped: circuit {} or bulkhead full", operation, guard.getState());
+            return null;
+        }
+        long started = System.nanoTime();
+        String outcome = "error";
+        boolean serviceHealthy = false;
+        boolean interrupted = false;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            // A 4xx is about this request, not the service's health
+            serviceHealthy = response.statusCode() < 500;
+            if (response.statusCode() / 100 != 2) {
+                outcome = "http_" + response.statusCode();
+                log.warn("ML {} failed: HTTP {}", operation, response.statusCode());
+                return null;
+            }
+            T result = objectMapper.readValue(response.body(), responseType);
+            outcome = "success";
+            return result;
+        } catch (HttpTimeoutException e) {
+            outcome = "timeout";
+            log.warn("ML {} timed out: {}", operation, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            interrupted = true;
+            outcome = "interrupted";
+            log.debug("ML {} interrupted", operation);
+        } catch (IOException | RuntimeException e) {
+            log.warn("ML {} failed: {}", operation, e.getMessage());
+        } finally {
+            // An interrupt (usually shutdown) is not the service's fault, so it does not count against the circuit
+            if (interrupted) {
+                permit.cancel();
+            } else {
+                permit.complete(serviceHealthy);
             }
-        } catch (Exception e) {
-            log.warn("ML parse failed: {}", e.getMessage());
+            Timer.builder("ml.client.requests")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .description("ML service request latency")
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(System.nanoTime() - started));
         }
         return null;
     }
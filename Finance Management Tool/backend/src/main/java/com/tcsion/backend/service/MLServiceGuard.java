@@ -0,0 +1,235 @@
+package com.tcsion.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Circuit breaker and per-operation bulkheads for {@link MLServiceClient}.
+ *
+ * <p>The breaker opens after {@code failure-threshold} consecutive failed or
+ * slow calls (slower than {@code slow-call-percent} of the operation's
+ * timeout), so callers get an immediate "unavailable" instead of waiting out
+ * timeouts. After {@code open-duration} it lets a single probe through
+ * (half-open): success closes it, failure opens it again.
+ *
+ * <p>Each operation has its own concurrency limit, so a backlog of slow
+ * predictions cannot starve classification or parsing. Calls over the limit
+ * are rejected, not queued.
+ *
+ * <p>Metrics: {@code ml.client.circuit.state} (0 closed, 1 half-open, 2 open),
+ * {@code ml.client.circuit.transitions} (by target state),
+ * {@code ml.client.in-flight} and {@code ml.client.in-flight.limit} (by
+ * operation) and {@code ml.client.rejected} (by operation and reason).
+ */
+@Component
+@Slf4j
+public class MLServiceGuard {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final Map<String, Semaphore> bulkheads;
+    private final int failureThreshold;
+    private final int slowCallPercent;
+    private final Duration openDuration;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private boolean probeInFlight;
+    private Instant openedAt;
+
+    public MLServiceGuard(MeterRegistry meterRegistry,
+            @Value("${ml.service.bulkhead.classify:16}") int classifyLimit,
+            @Value("${ml.service.bulkhead.classify-batch:4}") int classifyBatchLimit,
+            @Value("${ml.service.bulkhead.predict:4}") int predictLimit,
+            @Value("${ml.service.bulkhead.parse:8}") int parseLimit,
+            @Value("${ml.service.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${ml.service.circuit.slow-call-percent:80}") int slowCallPercent,
+            @Value("${ml.service.circuit.open-duration:PT30S}") Duration openDuration) {
+        this(meterRegistry, Map.of(
+                MLServiceClient.CLASSIFY, classifyLimit,
+                MLServiceClient.CLASSIFY_BATCH, classifyBatchLimit,
+                MLServiceClient.PREDICT, predictLimit,
+                MLServiceClient.PARSE, parseLimit),
+                failureThreshold, slowCallPercent, openDuration, Clock.systemUTC());
+    }
+
+    MLServiceGuard(MeterRegistry meterRegistry, Map<String, Integer> limits, int failureThreshold,
+            int slowCallPercent, Duration openDuration, Clock clock) {
+        this.meterRegistry = meterRegistry;
+        this.failureThreshold = failureThreshold;
+        this.slowCallPercent = slowCallPercent;
+        this.openDuration = openDuration;
+        this.clock = clock;
+        this.bulkheads = limits.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> new Semaphore(e.getValue())));
+
+        limits.forEach((operation, limit) -> {
+            Semaphore bulkhead = bulkheads.get(operation);
+            Gauge.builder("ml.client.in-flight", bulkhead, s -> limit - s.availablePermits())
+                    .tag("operation", operation)
+                    .description("ML service requests currently outstanding")
+                    .register(meterRegistry);
+            Gauge.builder("ml.client.in-flight.limit", () -> limit)
+                    .tag("operation", operation)
+                    .description("Maximum outstanding ML service requests")
+                    .register(meterRegistry);
+        });
+        Gauge.builder("ml.client.circuit.state", this, guard -> guard.getState().ordinal())
+                .description("ML service circuit breaker: 0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claims a slot for one call, or returns null if the operation's bulkhead
+     * is full or the circuit is open. A permit must be completed or cancelled
+     * exactly once.
+     */
+    public Permit tryAcquire(String operation, Duration timeout) {
+        Semaphore bulkhead = bulkheads.get(operation);
+        if (!bulkhead.tryAcquire()) {
+            reject(operation, "bulkhead-full");
+            return null;
+        }
+        Boolean probe = allowRequest();
+        if (probe == null) {
+            bulkhead.release();
+            reject(operation, "circuit-open");
+            return null;
+        }
+        return new Permit(bulkhead, probe, timeout.toNanos() / 100 * slowCallPercent);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public synchronized Instant getOpenedAt() {
+        return openedAt;
+    }
+
+    /** Null when rejected; otherwise whether this call is the half-open probe. */
+    private synchronized Boolean allowRequest() {
+        return switch (state) {
+            case CLOSED -> false;
+            case OPEN -> {
+                if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+                    yield null;
+                }
+                transition(State.HALF_OPEN);
+                probeInFlight = true;
+                yield true;
+            }
+            case HALF_OPEN -> {
+                if (probeInFlight) {
+                    yield null;
+                }
+                probeInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    private synchronized void onResult(boolean probe, boolean failed) {
+        if (probe) {
+            probeInFlight = false;
+            if (failed) {
+                open();
+            } else {
+                consecutiveFailures = 0;
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        // Stragglers from before the circuit opened do not change its state
+        if (state != State.CLOSED) {
+            return;
+        }
+        if (!failed) {
+            consecutiveFailures = 0;
+        } else if (++consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    private synchronized void onCancelled(boolean probe) {
+        // Says nothing about the service; let the next call probe instead
+        if (probe) {
+            probeInFlight = false;
+        }
+    }
+
+    private void open() {
+        openedAt = clock.instant();
+        transition(State.OPEN);
+    }
+
+    private void transition(State to) {
+        if (state == to) {
+            return;
+        }
+        log.warn("ML service circuit {} -> {}", state, to);
+        state = to;
+        Counter.builder("ml.client.circuit.transitions").tag("state", to.name())
+                .register(meterRegistry).increment();
+    }
+
+    private void reject(String operation, String reason) {
+        Counter.builder("ml.client.rejected")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .description("ML service calls turned away by the circuit breaker or bulkhead")
+                .register(meterRegistry).increment();
+    }
+
+    public final class Permit {
+
+        private final Semaphore bulkhead;
+        private final boolean probe;
+        private final long slowCallNanos;
+        private final long started = System.nanoTime();
+        private boolean completed;
+
+        private Permit(Semaphore bulkhead, boolean probe, long slowCallNanos) {
+            this.bulkhead = bulkhead;
+            this.probe = probe;
+            this.slowCallNanos = slowCallNanos;
+        }
+
+        /** Records the outcome; a successful call slower than the threshold counts as a failure. */
+        public void complete(boolean success) {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            bulkhead.release();
+            onResult(probe, !success || System.nanoTime() - started > slowCallNanos);
+        }
+
+        /** Releases the slot without recording an outcome, for calls abandoned by the caller (interrupts). */
+        public void cancel() {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            bulkhead.release();
+            onCancelled(probe);
+        }
+    }
+}
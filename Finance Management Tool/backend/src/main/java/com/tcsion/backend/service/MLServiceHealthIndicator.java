@@ -0,0 +1,31 @@
+package com.tcsion.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the ML service circuit breaker under {@code /actuator/health}
+ * as the {@code mlService} component. An open or probing circuit is shown
+ * as UNKNOWN rather than DOWN: the backend keeps serving without the ML
+ * service, so an outage there should not fail its own health check.
+ */
+@Component("mlService")
+@RequiredArgsConstructor
+public class MLServiceHealthIndicator implements HealthIndicator {
+
+    private final MLServiceGuard guard;
+
+    @Override
+    public Health health() {
+        MLServiceGuard.State state = guard.getState();
+        Health.Builder builder = state == MLServiceGuard.State.CLOSED ? Health.up() : Health.unknown();
+        builder.withDetail("circuit", state.name())
+                .withDetail("consecutiveFailures", guard.getConsecutiveFailures());
+        if (guard.getOpenedAt() != null) {
+            builder.withDetail("lastOpenedAt", guard.getOpenedAt().toString());
+        }
+        return builder.build();
+    }
+}
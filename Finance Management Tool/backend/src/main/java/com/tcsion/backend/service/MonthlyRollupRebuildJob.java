@@ -0,0 +1,103 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.repository.MonthlyRollupRepository;
+import com.tcsion.backend.repository.TransactionRepository;
+import com.tcsion.backend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Keeps monthly_rollups honest. On startup, when the table has never been
+ * populated, it is rebuilt from the transactions table (backfill). After that
+ * the counters are only reconciled: recent months nightly, the full history
+ * weekly, rewriting just the buckets that drifted. Each user is handled in its
+ * own short transaction.
+ * Runs ahead of other startup runners so seeded data lands on a populated table.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class MonthlyRollupRebuildJob implements ApplicationRunner {
+
+    private static final YearMonth FULL_HISTORY = YearMonth.of(1900, 1);
+
+    private final MonthlyRollupService monthlyRollupService;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final Counter repairedBuckets;
+    private final int recentMonths;
+
+    public MonthlyRollupRebuildJob(MonthlyRollupService monthlyRollupService,
+            MonthlyRollupRepository monthlyRollupRepository,
+            TransactionRepository transactionRepository,
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${rollup.reconcile.recent-months:3}") int recentMonths) {
+        this.monthlyRollupService = monthlyRollupService;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+        this.recentMonths = recentMonths;
+        this.repairedBuckets = Counter.builder("rollup.reconcile.repaired")
+                .description("Monthly rollup buckets found out of line with transactions and rewritten")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (monthlyRollupRepository.count() == 0 && transactionRepository.count() > 0) {
+            log.info("monthly_rollups is empty, backfilling from transactions...");
+            rebuildAll();
+        }
+    }
+
+    public void rebuildAll() {
+        long started = System.currentTimeMillis();
+        int users = 0;
+        int buckets = 0;
+        for (Long userId : userRepository.findAllIds()) {
+            buckets += monthlyRollupService.rebuild(userId);
+            users++;
+        }
+        log.info("Rebuilt {} monthly rollup buckets for {} users in {} ms",
+                buckets, users, System.currentTimeMillis() - started);
+    }
+
+    @Scheduled(cron = "${rollup.reconcile.cron:0 30 3 * * MON-SAT}")
+    public void reconcileRecent() {
+        reconcileAll(YearMonth.now().minusMonths(recentMonths - 1L));
+    }
+
+    @Scheduled(cron = "${rollup.reconcile.full-cron:0 30 3 * * SUN}")
+    public void reconcileFullHistory() {
+        reconcileAll(FULL_HISTORY);
+    }
+
+    private void reconcileAll(YearMonth since) {
+        long started = System.currentTimeMillis();
+        int users = 0;
+        int repaired = 0;
+        for (Long userId : userRepository.findAllIds()) {
+            try {
+                repaired += monthlyRollupService.reconcile(userId, since);
+            } catch (RuntimeException e) {
+                log.error("Monthly rollup reconciliation failed for user {}", userId, e);
+            }
+            users++;
+        }
+        repairedBuckets.increment(repaired);
+        log.info("Reconciled monthly rollups since {} for {} users in {} ms: {} buckets repaired",
+                since, users, System.currentTimeMillis() - started, repaired);
+    }
+}
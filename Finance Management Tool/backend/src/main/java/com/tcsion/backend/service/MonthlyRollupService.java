@@ -0,0 +1,120 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.cache.DashboardCache;
+import com.tcsion.backend.entity.Transaction;
+import com.tcsion.backend.repository.MonthlyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MonthlyRollupService {
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final DashboardCache dashboardCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FinancialHealthService financialHealthService;
+
+    /**
+     * Adds a live transaction to its bucket. Must run in the same transaction
+     * as the write so the rollup never diverges from what was committed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Transaction t) {
+        apply(t, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Transaction t) {
+        apply(t, -1);
+    }
+
+    /**
+     * Adds many new transactions with one upsert per touched bucket rather
+     * than one per row.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(Collection<Transaction> transactions) {
+        Map<BucketKey, BucketDelta> deltas = new HashMap<>();
+        for (Transaction t : transactions) {
+            BucketKey key = new BucketKey(t.getUser().getId(), YearMonth.from(t.getTransactionDate()).toString(),
+                    t.getCategory().getId(), t.getType().name());
+            BucketDelta delta = deltas.computeIfAbsent(key, k -> new BucketDelta());
+            delta.cents = CentsAccumulator.addExact(delta.cents, CentsAccumulator.toCents(t.getAmount()));
+            delta.count++;
+        }
+        deltas.forEach((key, delta) -> monthlyRollupRepository.applyDelta(
+                key.userId(), key.yearMonth(), key.categoryId(), key.type(), CentsAccumulator.toAmount(delta.cents), delta.count));
+        deltas.keySet().stream()
+                .collect(Collectors.groupingBy(BucketKey::userId,
+                        Collectors.mapping(key -> YearMonth.parse(key.yearMonth()), Collectors.toSet())))
+                .forEach((userId, months) -> {
+                    financialHealthService.invalidateCompletedMonths(userId, months);
+                    eventPublisher.publishEvent(new SpendChangedEvent(userId, months));
+                });
+    }
+
+    @Transactional
+    public int rebuild(Long userId) {
+        monthlyRollupRepository.deleteByUserId(userId);
+        int buckets = monthlyRollupRepository.insertFromTransactions(userId);
+        log.debug("Rebuilt {} monthly rollup buckets for user {}", buckets, userId);
+        return buckets;
+    }
+
+    /**
+     * Verifies the user's buckets from {@code since} onwards against the live
+     * transactions and repairs any that drifted. Unlike {@link #rebuild} this
+     * only writes the buckets that are wrong.
+     */
+    @Transactional
+    public int reconcile(Long userId, YearMonth since) {
+        monthlyRollupRepository.lockBuckets(userId, since.toString());
+        int repaired = monthlyRollupRepository.repairDrift(userId, since.atDay(1), since.toString());
+        if (repaired > 0) {
+            log.warn("Repaired {} drifted monthly rollup buckets for user {} since {}", repaired, userId, since);
+            dashboardCache.evictUser(userId);
+            YearMonth current = YearMonth.now();
+            Set<YearMonth> months = Stream.iterate(since, month -> !month.isAfter(current), month -> month.plusMonths(1))
+                    .collect(Collectors.toSet());
+            financialHealthService.invalidateCompletedMonths(userId, months);
+            eventPublisher.publishEvent(new SpendChangedEvent(userId, months));
+        }
+        return repaired;
+    }
+
+    private void apply(Transaction t, int sign) {
+        YearMonth month = YearMonth.from(t.getTransactionDate());
+        monthlyRollupRepository.applyDelta(
+                t.getUser().getId(),
+                month.toString(),
+                t.getCategory().getId(),
+                t.getType().name(),
+                sign < 0 ? t.getAmount().negate() : t.getAmount(),
+                sign);
+        financialHealthService.invalidateCompletedMonths(t.getUser().getId(), List.of(month));
+        eventPublisher.publishEvent(new SpendChangedEvent(t.getUser().getId(), month));
+    }
+
+    private record BucketKey(Long userId, String yearMonth, Long categoryId, String type) {
+    }
+
+    private static final class BucketDelta {
+        private long cents;
+        private long count;
+    }
+}
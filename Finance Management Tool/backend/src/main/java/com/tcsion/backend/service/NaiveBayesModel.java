@@ -0,0 +1,113 @@
+package com.tcsion.backend.service;
+
+import java.util.Arrays;
+
+/**
+ * Multinomial naive Bayes over hashed description tokens for one user.
+ * Token counts live in one {@code int[buckets]} row per category, so a model
+ * is a handful of primitive arrays and training is a few increments.
+ * Not thread-safe; {@link LocalCategoryClassifier} serialises access.
+ */
+final class NaiveBayesModel {
+
+    record Prediction(long categoryId, String categoryName, double confidence) {
+    }
+
+    private static final int INITIAL_CATEGORIES = 4;
+
+    private final int bucketBits;
+    private final int buckets;
+
+    private long[] categoryIds = new long[INITIAL_CATEGORIES];
+    private String[] categoryNames = new String[INITIAL_CATEGORIES];
+    private int[] documentCounts = new int[INITIAL_CATEGORIES];
+    private int[] tokenTotals = new int[INITIAL_CATEGORIES];
+    private int[][] tokenCounts = new int[INITIAL_CATEGORIES][];
+    private int categories;
+    private int documents;
+
+    NaiveBayesModel(int bucketBits) {
+        this.bucketBits = bucketBits;
+        this.buckets = 1 << bucketBits;
+    }
+
+    /** Adds one categorized description, already normalized. */
+    void train(long categoryId, String categoryName, String normalized) {
+        int[] tokens = hash(normalized);
+        if (tokens.length == 0) {
+            return;
+        }
+        int c = slotFor(categoryId, categoryName);
+        documentCounts[c]++;
+        documents++;
+        for (int bucket : tokens) {
+            tokenCounts[c][bucket]++;
+        }
+        tokenTotals[c] += tokens.length;
+    }
+
+    /** The most likely category and its posterior probability, or null with nothing to go on. */
+    Prediction predict(String normalized) {
+        int[] tokens = hash(normalized);
+        if (categories == 0 || tokens.length == 0) {
+            return null;
+        }
+        double[] logLikelihood = new double[categories];
+        int best = 0;
+        for (int c = 0; c < categories; c++) {
+            double score = Math.log((double) documentCounts[c] / documents);
+            // Laplace smoothing over the hashed vocabulary
+            double denominator = Math.log(tokenTotals[c] + (double) buckets);
+            for (int bucket : tokens) {
+                score += Math.log(tokenCounts[c][bucket] + 1.0) - denominator;
+            }
+            logLikelihood[c] = score;
+            if (score > logLikelihood[best]) {
+                best = c;
+            }
+        }
+        double total = 0;
+        for (int c = 0; c < categories; c++) {
+            total += Math.exp(logLikelihood[c] - logLikelihood[best]);
+        }
+        return new Prediction(categoryIds[best], categoryNames[best], 1.0 / total);
+    }
+
+    int documents() {
+        return documents;
+    }
+
+    private int[] hash(String normalized) {
+        if (normalized.isEmpty()) {
+            return new int[0];
+        }
+        String[] words = normalized.split(" ");
+        int[] tokens = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            // Fibonacci hashing spreads String.hashCode over the top bits
+            tokens[i] = (words[i].hashCode() * 0x9E3779B9) >>> (32 - bucketBits);
+        }
+        return tokens;
+    }
+
+    private int slotFor(long categoryId, String categoryName) {
+        for (int c = 0; c < categories; c++) {
+            if (categoryIds[c] == categoryId) {
+                categoryNames[c] = categoryName;
+                return c;
+            }
+        }
+        if (categories == categoryIds.length) {
+            int capacity = categories * 2;
+            categoryIds = Arrays.copyOf(categoryIds, capacity);
+            categoryNames = Arrays.copyOf(categoryNames, capacity);
+            documentCounts = Arrays.copyOf(documentCounts, capacity);
+            tokenTotals = Arrays.copyOf(tokenTotals, capacity);
+            tokenCounts = Arrays.copyOf(tokenCounts, capacity);
+        }
+        categoryIds[categories] = categoryId;
+        categoryNames[categories] = categoryName;
+        tokenCounts[categories] = new int[buckets];
+        return categories++;
+    }
+}
@@ -0,0 +1,15 @@
+package com.tcsion.backend.service;
+
+import java.time.YearMonth;
+import java.util.Set;
+
+/**
+ * Published inside a transaction that changed a user's spend or budgets in
+ * the given months; listeners act on it after commit.
+ */
+public record SpendChangedEvent(Long userId, Set<YearMonth> months) {
+
+    public SpendChangedEvent(Long userId, YearMonth month) {
+        this(userId, Set.of(month));
+    }
+}
@@ -0,0 +1,91 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.entity.Category;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact per-month income/expense totals and per-category expense for a
+ * contiguous range of months, built from a single grouped query. Totals are
+ * held in cents and only turned into {@link BigDecimal} by the accessors.
+ */
+public class SpendingSummary {
+
+    private final YearMonth from;
+    private final long[] incomeCents;
+    private final long[] expenseCents;
+    private final CentsAccumulator expenseByCategory;
+    private final Map<Long, String> categoryNames = new HashMap<>();
+
+    SpendingSummary(YearMonth from, YearMonth to) {
+        this.from = from;
+        int months = (int) from.until(to, ChronoUnit.MONTHS) + 1;
+        this.incomeCents = new long[months];
+        this.expenseCents = new long[months];
+        this.expenseByCategory = new CentsAccumulator(months);
+    }
+
+    void add(YearMonth month, Category.TransactionType type, Long categoryId, String categoryName, BigDecimal amount) {
+        int i = indexOf(month);
+        if (i < 0) {
+            return;
+        }
+        long cents = CentsAccumulator.toCents(amount);
+        if (type == Category.TransactionType.INCOME) {
+            incomeCents[i] = CentsAccumulator.addExact(incomeCents[i], cents);
+        } else {
+            expenseCents[i] = CentsAccumulator.addExact(expenseCents[i], cents);
+            expenseByCategory.add(i, categoryId, cents);
+        }
+        categoryNames.putIfAbsent(categoryId, categoryName);
+    }
+
+    public List<YearMonth> months() {
+        List<YearMonth> result = new ArrayList<>(incomeCents.length);
+        for (int i = 0; i < incomeCents.length; i++) {
+            result.add(from.plusMonths(i));
+        }
+        return result;
+    }
+
+    public BigDecimal income(YearMonth month) {
+        int i = indexOf(month);
+        return CentsAccumulator.toAmount(i < 0 ? 0L : incomeCents[i]);
+    }
+
+    public BigDecimal expenses(YearMonth month) {
+        int i = indexOf(month);
+        return CentsAccumulator.toAmount(i < 0 ? 0L : expenseCents[i]);
+    }
+
+    public Map<Long, BigDecimal> expenseByCategory(YearMonth month) {
+        int i = indexOf(month);
+        if (i < 0) {
+            return Collections.emptyMap();
+        }
+        Map<Long, BigDecimal> result = new LinkedHashMap<>();
+        for (Long categoryId : expenseByCategory.categoryIds()) {
+            if (expenseByCategory.has(i, categoryId)) {
+                result.put(categoryId, CentsAccumulator.toAmount(expenseByCategory.get(i, categoryId)));
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    public String categoryName(Long categoryId) {
+        return categoryNames.get(categoryId);
+    }
+
+    private int indexOf(YearMonth month) {
+        int i = (int) from.until(month, ChronoUnit.MONTHS);
+        return i >= 0 && i < incomeCents.length ? i : -1;
+    }
+}
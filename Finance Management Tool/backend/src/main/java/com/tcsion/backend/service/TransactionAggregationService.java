@@ -0,0 +1,38 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.entity.MonthlyRollup;
+import com.tcsion.backend.repository.MonthlyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionAggregationService {
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+
+    /**
+     * Totals every (month, type, category) bucket between {@code from} and
+     * {@code to} (inclusive). Reads the pre-aggregated monthly rollups, so the
+     * cost depends on months and categories rather than transaction count.
+     */
+    @Transactional(readOnly = true)
+    public SpendingSummary summarize(Long userId, YearMonth from, YearMonth to) {
+        List<MonthlyRollup> rows = monthlyRollupRepository.findByUserIdAndMonthBetween(userId, from, to);
+
+        SpendingSummary summary = new SpendingSummary(from, to);
+        for (MonthlyRollup row : rows) {
+            // Buckets emptied by edits or deletes stay behind with a zero count
+            if (row.getTxnCount() == 0) {
+                continue;
+            }
+            summary.add(row.getYearMonth(), row.getType(), row.getCategory().getId(),
+                    row.getCategory().getName(), row.getSumAmount());
+        }
+        return summary;
+    }
+}
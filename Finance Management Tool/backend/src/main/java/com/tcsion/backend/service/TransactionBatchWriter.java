@@ -0,0 +1,45 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.cache.DashboardCache;
+import com.tcsion.backend.entity.Transaction;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Persists many new transactions in the caller's transaction using Hibernate
+ * JDBC batching, flushing and clearing the persistence context every batch so
+ * memory stays flat, then updates the rollups and evicts the dashboard cache
+ * once for the whole set.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionBatchWriter {
+
+    private final EntityManager entityManager;
+    private final MonthlyRollupService monthlyRollupService;
+    private final DashboardCache dashboardCache;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void persistAll(Long userId, List<Transaction> transactions) {
+        for (int i = 0; i < transactions.size(); i++) {
+            entityManager.persist(transactions.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        monthlyRollupService.addAll(transactions);
+        dashboardCache.evictUser(userId);
+    }
+}
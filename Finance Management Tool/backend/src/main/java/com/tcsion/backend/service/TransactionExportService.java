@@ -0,0 +1,116 @@
+package com.tcsion.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tcsion.backend.entity.Transaction;
+import com.tcsion.backend.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's transactions straight from a database cursor to the
+ * response body. The persistence context is cleared every
+ * {@link #CLEAR_EVERY} rows, so memory stays flat regardless of history size.
+ * The CSV columns match what {@link TransactionImportService} reads back.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int CLEAR_EVERY = 500;
+    private static final LocalDate EARLIEST = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    private final TransactionRepository transactionRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    public void export(Long userId, Format format, LocalDate start, LocalDate end, OutputStream out) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        tx.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try (Stream<Transaction> rows = transactionRepository.streamForExport(
+                    userId, start != null ? start : EARLIEST, end != null ? end : LATEST)) {
+                if (format == Format.CSV) {
+                    writer.write("id,date,type,category,amount,description,recurring\n");
+                }
+                int written = 0;
+                Iterator<Transaction> it = rows.iterator();
+                while (it.hasNext()) {
+                    Transaction t = it.next();
+                    if (format == Format.CSV) {
+                        writeCsv(writer, t);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(TransactionService.toResponse(t)));
+                        writer.write('\n');
+                    }
+                    if (++written % CLEAR_EVERY == 0) {
+                        entityManager.clear();
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static void writeCsv(Writer writer, Transaction t) throws IOException {
+        writer.write(String.valueOf(t.getId()));
+        writer.write(',');
+        writer.write(t.getTransactionDate().toString());
+        writer.write(',');
+        writer.write(t.getType().name());
+        writer.write(',');
+        writer.write(csvField(t.getCategory().getName()));
+        writer.write(',');
+        writer.write(t.getAmount().toPlainString());
+        writer.write(',');
+        writer.write(csvField(t.getDescription()));
+        writer.write(',');
+        writer.write(String.valueOf(Boolean.TRUE.equals(t.getIsRecurring())));
+        writer.write('\n');
+    }
+
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        // The importer reads one row per line, so line breaks are flattened rather than quoted
+        value = value.replace('\r', ' ').replace('\n', ' ');
+        if (startsLikeFormula(value)) {
+            // Spreadsheets would evaluate it; the quote makes it text and the importer strips it again
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    static boolean startsLikeFormula(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t';
+    }
+}
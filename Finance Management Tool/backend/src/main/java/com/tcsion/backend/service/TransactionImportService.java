@@ -0,0 +1,308 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.dto.response.ImportResultResponse;
+import com.tcsion.backend.entity.Category;
+import com.tcsion.backend.entity.Transaction;
+import com.tcsion.backend.entity.User;
+import com.tcsion.backend.exception.BadRequestException;
+import com.tcsion.backend.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import jakarta.persistence.PersistenceException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Imports a bank statement CSV line by line. Rows are validated against a
+ * category map fetched once up front and written in chunks, each chunk in its
+ * own transaction through {@link TransactionBatchWriter}, so an import of any
+ * size holds at most one chunk in memory and a bad chunk does not undo the
+ * ones before it. A chunk the database rejects is retried row by row, so only
+ * the offending rows are reported. Callers can follow progress chunk by chunk.
+ * The imported rows become training data for the user's local category
+ * model, so the model is dropped once the import is done.
+ *
+ * <p>Expected header (case-insensitive, any order): {@code date, amount} and
+ * optionally {@code type, category, description}. Without a type column the
+ * type comes from the category, or from the amount's sign (negative = expense).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 200;
+    // transactions.amount is NUMERIC(15, 2)
+    private static final int AMOUNT_PRECISION = 15;
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final PlatformTransactionManager transactionManager;
+    private final LocalCategoryClassifier localCategoryClassifier;
+
+    public ImportResultResponse importCsv(Long userId, InputStream in) throws IOException {
+        return importCsv(userId, in, result -> { });
+    }
+
+    /**
+     * Imports the CSV, handing the running result to {@code progress} after
+     * every chunk. The same instance keeps changing, so read it before the
+     * callback returns.
+     */
+    public ImportResultResponse importCsv(Long userId, InputStream in, Consumer<ImportResultResponse> progress)
+            throws IOException {
+        long started = System.currentTimeMillis();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CategoryLookup categories = new CategoryLookup(categoryRepository.findByUserIdOrIsSystemTrue(userId), userId);
+        User user = User.builder().id(userId).build();
+        ImportResultResponse result = new ImportResultResponse();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new BadRequestException("CSV file is empty");
+            }
+            Map<String, Integer> columns = readHeader(parseLine(headerLine.replace("\uFEFF", "")));
+
+            List<Transaction> chunk = new ArrayList<>(CHUNK_SIZE);
+            List<Long> chunkRows = new ArrayList<>(CHUNK_SIZE);
+            long rowNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                rowNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.setTotalRows(result.getTotalRows() + 1);
+                try {
+                    chunk.add(toTransaction(parseLine(line), columns, categories, user));
+                    chunkRows.add(rowNumber);
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    recordFailure(result, rowNumber, e.getMessage());
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    writeChunk(tx, userId, chunk, chunkRows, result);
+                    progress.accept(result);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(tx, userId, chunk, chunkRows, result);
+                progress.accept(result);
+            }
+        } finally {
+            if (result.getImported() > 0) {
+                localCategoryClassifier.evictUser(userId);
+            }
+        }
+
+        result.setDurationMs(System.currentTimeMillis() - started);
+        log.info("CSV import for user {}: {} rows, {} imported, {} failed in {} ms", userId,
+                result.getTotalRows(), result.getImported(), result.getFailed(), result.getDurationMs());
+        return result;
+    }
+
+    private void writeChunk(TransactionTemplate tx, Long userId, List<Transaction> chunk, List<Long> rows,
+            ImportResultResponse result) {
+        try {
+            tx.executeWithoutResult(status -> transactionBatchWriter.persistAll(userId, chunk));
+            result.setImported(result.getImported() + chunk.size());
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            log.warn("CSV import chunk (rows {}-{}) failed for user {}, retrying row by row: {}",
+                    rows.getFirst(), rows.getLast(), userId, e.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                writeRow(tx, userId, chunk.get(i), rows.get(i), result);
+            }
+        }
+        log.info("CSV import for user {}: {} rows imported, {} failed so far", userId,
+                result.getImported(), result.getFailed());
+        chunk.clear();
+        rows.clear();
+    }
+
+    private void writeRow(TransactionTemplate tx, Long userId, Transaction transaction, long row,
+            ImportResultResponse result) {
+        // The rolled-back chunk left a sequence id behind; persist needs a new entity
+        transaction.setId(null);
+        try {
+            tx.executeWithoutResult(status -> transactionBatchWriter.persistAll(userId, List.of(transaction)));
+            result.setImported(result.getImported() + 1);
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            log.debug("CSV import row {} failed for user {}: {}", row, userId, e.getMessage());
+            recordFailure(result, row, "Row could not be saved");
+        }
+    }
+
+    private static void recordFailure(ImportResultResponse result, long row, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ImportResultResponse.RowError(row, message));
+        }
+    }
+
+    private static Map<String, Integer> readHeader(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("date") || !columns.containsKey("amount")) {
+            throw new BadRequestException("CSV header must contain 'date' and 'amount' columns");
+        }
+        return columns;
+    }
+
+    private static Transaction toTransaction(List<String> fields, Map<String, Integer> columns,
+            CategoryLookup categories, User user) {
+        String dateValue = field(fields, columns, "date");
+        String amountValue = field(fields, columns, "amount");
+        if (dateValue == null || amountValue == null) {
+            throw new IllegalArgumentException("date and amount are required");
+        }
+        LocalDate date = LocalDate.parse(dateValue);
+        BigDecimal signed = new BigDecimal(amountValue.replace(",", ""));
+        if (signed.signum() == 0 || signed.stripTrailingZeros().scale() > 2) {
+            throw new IllegalArgumentException("amount must be non-zero with at most 2 decimal places");
+        }
+        BigDecimal amount = signed.abs().setScale(2);
+        if (amount.precision() > AMOUNT_PRECISION) {
+            throw new IllegalArgumentException("amount must have at most "
+                    + (AMOUNT_PRECISION - 2) + " digits before the decimal point");
+        }
+
+        String typeValue = field(fields, columns, "type");
+        String categoryName = field(fields, columns, "category");
+        Category.TransactionType type;
+        if (typeValue != null) {
+            try {
+                type = Category.TransactionType.valueOf(typeValue.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("type must be INCOME or EXPENSE");
+            }
+        } else if (categoryName != null && categories.typeOf(categoryName) != null) {
+            type = categories.typeOf(categoryName);
+        } else {
+            type = signed.signum() < 0 ? Category.TransactionType.EXPENSE : Category.TransactionType.INCOME;
+        }
+
+        Category category = categories.resolve(categoryName, type);
+        String description = field(fields, columns, "description");
+        if (description != null && description.length() > 500) {
+            description = description.substring(0, 500);
+        }
+
+        return Transaction.builder()
+                .amount(amount)
+                .type(type)
+                .category(category)
+                .description(description)
+                .transactionDate(date)
+                .isRecurring(false)
+                .user(user)
+                .build();
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        // Undo the formula guard of TransactionExportService, so exports import back unchanged
+        if (value.startsWith("'") && TransactionExportService.startsLikeFormula(value.substring(1))) {
+            value = value.substring(1);
+        }
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Splits one CSV record, honouring double-quoted fields and {@code ""}
+     * escapes. Quoted line breaks are not supported.
+     */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /**
+     * Case-insensitive name lookup over the user's and system categories; a
+     * user category shadows a system one with the same name and type.
+     */
+    private static final class CategoryLookup {
+
+        private final Map<String, Category> byTypeAndName = new HashMap<>();
+        private final Map<String, Category.TransactionType> typeByName = new HashMap<>();
+
+        CategoryLookup(List<Category> categories, Long userId) {
+            for (Category c : categories) {
+                String key = key(c.getType(), c.getName());
+                boolean own = c.getUser() != null && userId.equals(c.getUser().getId());
+                if (own || !byTypeAndName.containsKey(key)) {
+                    byTypeAndName.put(key, c);
+                }
+                typeByName.putIfAbsent(c.getName().toLowerCase(Locale.ROOT), c.getType());
+            }
+        }
+
+        Category.TransactionType typeOf(String name) {
+            return typeByName.get(name.toLowerCase(Locale.ROOT));
+        }
+
+        Category resolve(String name, Category.TransactionType type) {
+            String lookup = name != null ? name
+                    : type == Category.TransactionType.INCOME ? "Other Income" : "Other Expense";
+            Category category = byTypeAndName.get(key(type, lookup));
+            if (category == null) {
+                throw new IllegalArgumentException("Unknown " + type.name().toLowerCase(Locale.ROOT)
+                        + " category: " + lookup);
+            }
+            return category;
+        }
+
+        private static String key(Category.TransactionType type, String name) {
+            return type.name() + ":" + name.toLowerCase(Locale.ROOT);
+        }
+    }
+}
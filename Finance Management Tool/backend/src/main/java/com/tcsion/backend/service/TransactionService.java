@@ -1,22 +1,42 @@
 package com.tcsion.backend.service;
 
+import com.tcsion.backend.cache.DashboardCache;
 import com.tcsion.backend.dto.request.TransactionRequest;
+import com.tcsion.backend.dto.response.BatchCreateResponse;
+import com.tcsion.backend.dto.response.CategorySuggestion;
+import com.tcsion.backend.dto.response.CursorPage;
 import com.tcsion.backend.dto.response.TransactionResponse;
 import com.tcsion.backend.entity.Category;
 import com.tcsion.backend.entity.Transaction;
 import com.tcsion.backend.entity.User;
 import com.tcsion.backend.exception.ResourceNotFoundException;
+import com.tcsion.backend.repository.CategoryRepository;
 import com.tcsion.backend.repository.TransactionRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,7 +45,16 @@ public class TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final CategoryService categoryService;
-    private final MLServiceClient mlServiceClient;
+    private final ClassificationBatcher classificationBatcher;
+    private final LocalCategoryClassifier localCategoryClassifier;
+    private final MonthlyRollupService monthlyRollupService;
+    private final DashboardCache dashboardCache;
+    private final CategoryRepository categoryRepository;
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final Validator validator;
+
+    static final int MAX_BATCH_SIZE = 1000;
+    private static final long ML_SUGGESTION_TIMEOUT_SECONDS = 5;
 
     @Transactional
     public TransactionResponse create(Long userId, TransactionRequest request, User user) {
@@ -45,47 +74,212 @@ public class TransactionService {
             .build();
 
         transaction = transactionRepository.save(transaction);
-        tryClassifyAndUpdateCategory(transaction);
+        monthlyRollupService.add(transaction);
+        dashboardCache.evictUser(userId);
+        localCategoryClassifier.learn(transaction);
         return toResponse(transaction);
     }
 
-    @Async
-    public void tryClassifyAndUpdateCategory(Transaction transaction) {
-        if (transaction.getDescription() != null && !transaction.getDescription().isBlank()) {
-            String predicted = mlServiceClient.classifyTransaction(transaction.getDescription());
-            if (predicted != null) {
-                // Optional: map predicted name to category and update; for now we keep user choice
+    /**
+     * Creates many transactions in one database transaction. Categories for
+     * the whole batch are fetched in one query; invalid items are reported
+     * per index and the valid ones are still saved.
+     */
+    @Transactional
+    public BatchCreateResponse createBatch(Long userId, List<TransactionRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new com.tcsion.backend.exception.BadRequestException("Batch must contain at least one transaction");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new com.tcsion.backend.exception.BadRequestException(
+                "Batch must not contain more than " + MAX_BATCH_SIZE + " transactions");
+        }
+
+        Set<Long> categoryIds = requests.stream()
+            .map(r -> r == null ? null : r.getCategoryId())
+            .filter(java.util.Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<Long, Category> categories = categoryRepository.findAllById(categoryIds).stream()
+            .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        User user = User.builder().id(userId).build();
+        BatchCreateResponse.ItemResult[] results = new BatchCreateResponse.ItemResult[requests.size()];
+        List<Transaction> toSave = new ArrayList<>();
+        List<Integer> savedIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TransactionRequest request = requests.get(i);
+            String error = validateBatchItem(request, categories, userId);
+            if (error != null) {
+                results[i] = new BatchCreateResponse.ItemResult(i, null, error);
+                continue;
             }
+            toSave.add(Transaction.builder()
+                .amount(request.getAmount())
+                .type(request.getType())
+                .category(categories.get(request.getCategoryId()))
+                .description(request.getDescription())
+                .transactionDate(request.getTransactionDate())
+                .isRecurring(request.getIsRecurring() != null ? request.getIsRecurring() : false)
+                .user(user)
+                .build());
+            savedIndexes.add(i);
+        }
+
+        if (!toSave.isEmpty()) {
+            transactionBatchWriter.persistAll(userId, toSave);
+            toSave.forEach(localCategoryClassifier::learn);
+        }
+        for (int j = 0; j < toSave.size(); j++) {
+            int index = savedIndexes.get(j);
+            results[index] = new BatchCreateResponse.ItemResult(index, toResponse(toSave.get(j)), null);
+        }
+
+        return BatchCreateResponse.builder()
+            .created(toSave.size())
+            .failed(requests.size() - toSave.size())
+            .results(List.of(results))
+            .build();
+    }
+
+    private String validateBatchItem(TransactionRequest request, Map<Long, Category> categories, Long userId) {
+        if (request == null) {
+            return "Transaction is required";
+        }
+        Set<ConstraintViolation<TransactionRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
         }
+        Category category = categories.get(request.getCategoryId());
+        if (category == null || !(Boolean.TRUE.equals(category.getIsSystem())
+                || (category.getUser() != null && category.getUser().getId().equals(userId)))) {
+            return "Category not found with id: " + request.getCategoryId();
+        }
+        if (category.getType() != request.getType()) {
+            return "Category type does not match transaction type";
+        }
+        return null;
+    }
+
+    /**
+     * Suggests one of the user's categories for a description: the local
+     * model's answer when it is confident, otherwise the ML service's
+     * category matched by name. Empty when neither has an answer. Not
+     * transactional, so no connection is held while waiting on the service.
+     */
+    public Optional<CategorySuggestion> suggestCategory(Long userId, String description) {
+        if (description == null || description.isBlank()) {
+            throw new com.tcsion.backend.exception.BadRequestException("Description is required");
+        }
+        Optional<CategorySuggestion> local = localCategoryClassifier.classify(userId, description);
+        if (local.isPresent()) {
+            return local;
+        }
+        String predicted;
+        try {
+            predicted = classificationBatcher.classify(description).get(ML_SUGGESTION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+        if (predicted == null) {
+            return Optional.empty();
+        }
+        return categoryRepository.findByUserIdOrIsSystemTrue(userId).stream()
+            .filter(c -> c.getName().equalsIgnoreCase(predicted))
+            .findFirst()
+            .map(c -> CategorySuggestion.builder()
+                .categoryId(c.getId())
+                .categoryName(c.getName())
+                .source(CategorySuggestion.Source.ML)
+                .build());
     }
 
     @Transactional(readOnly = true)
     public TransactionResponse getById(Long id, Long userId) {
-        Transaction t = transactionRepository.findById(id)
+        return transactionRepository.findResponseById(id, userId)
             .orElseThrow(() -> new ResourceNotFoundException("Transaction", id));
-        if (!t.getUser().getId().equals(userId)) {
-            throw new ResourceNotFoundException("Transaction", id);
-        }
-        if (t.getDeletedAt() != null) {
-            throw new ResourceNotFoundException("Transaction", id);
-        }
-        return toResponse(t);
     }
 
     @Transactional(readOnly = true)
     public Page<TransactionResponse> list(Long userId, LocalDate start, LocalDate end, Pageable pageable) {
         if (start != null && end != null) {
-            List<Transaction> list = transactionRepository.findByUserIdAndDateBetween(userId, start, end);
-            int from = (int) pageable.getOffset();
-            int to = Math.min(from + pageable.getPageSize(), list.size());
-            return new org.springframework.data.domain.PageImpl<>(
-                list.subList(from, to).stream().map(this::toResponse).collect(Collectors.toList()),
-                pageable,
-                list.size()
-            );
+            // Keep the newest-first order of the old in-memory path when the client sends no sort
+            Pageable paged = pageable.getSort().isSorted() ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                    Sort.by(Sort.Direction.DESC, "transactionDate"));
+            return transactionRepository.findResponsesBetween(userId, start, end, paged);
         }
-        return transactionRepository.findByUserIdAndDeletedAtIsNull(userId, pageable)
-            .map(this::toResponse);
+        return transactionRepository.findResponses(userId, pageable);
+    }
+
+    /**
+     * Ranked full-text search over descriptions. Each word of {@code text} is
+     * matched as a prefix and all words must match, so "net" finds "Netflix".
+     * The ranked page holds ids only; its rows are then read as projections.
+     */
+    @Transactional(readOnly = true)
+    public Page<TransactionResponse> search(Long userId, String text, LocalDate start, LocalDate end,
+                                            Long categoryId, Pageable pageable) {
+        String query = toPrefixQuery(text);
+        if (query == null) {
+            throw new com.tcsion.backend.exception.BadRequestException("Search text must contain letters or digits");
+        }
+        // Ordering is by rank; a client-supplied sort would not apply to the native query
+        Pageable page = PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), 100));
+        Page<Long> ids = transactionRepository.searchIds(userId, query, start, end, categoryId, page);
+        List<TransactionResponse> rows = ids.isEmpty() ? List.of() : transactionRepository.findResponsesByIds(ids.getContent());
+        Map<Long, TransactionResponse> byId = rows.stream()
+            .collect(Collectors.toMap(TransactionResponse::getId, Function.identity()));
+        return ids.map(byId::get);
+    }
+
+    // Reduces free text to "word1:* & word2:*"; only letters and digits survive, so the result is always valid tsquery syntax
+    static String toPrefixQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        String terms = Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+            .filter(term -> !term.isEmpty())
+            .limit(8)
+            .map(term -> term + ":*")
+            .collect(Collectors.joining(" & "));
+        return terms.isEmpty() ? null : terms;
+    }
+
+    /**
+     * Keyset page over the user's history, newest first. The cursor encodes
+     * the (transaction_date, id) of the last row returned, so every page is an
+     * index seek and no count query is run.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionResponse> listByCursor(Long userId, String cursor, int size) {
+        Limit limit = Limit.of(size + 1);
+        List<TransactionResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findKeysetFirst(userId, limit);
+        } else {
+            Cursor after = decodeCursor(cursor);
+            rows = transactionRepository.findKeysetAfter(userId, after.date(), after.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<TransactionResponse> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionResponse last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.getTransactionDate(), last.getId());
+        }
+        return CursorPage.<TransactionResponse>builder()
+            .content(page)
+            .nextCursor(nextCursor)
+            .hasMore(hasMore)
+            .size(size)
+            .build();
     }
 
     @Transactional
@@ -101,6 +295,8 @@ public class TransactionService {
             throw new com.tcsion.backend.exception.BadRequestException("Category type does not match transaction type");
         }
 
+        // Take the old values out of their bucket before any of month, category or amount change
+        monthlyRollupService.remove(t);
         t.setAmount(request.getAmount());
         t.setType(request.getType());
         t.setCategory(category);
@@ -108,6 +304,9 @@ public class TransactionService {
         t.setTransactionDate(request.getTransactionDate());
         t.setIsRecurring(request.getIsRecurring() != null ? request.getIsRecurring() : false);
         t = transactionRepository.save(t);
+        monthlyRollupService.add(t);
+        dashboardCache.evictUser(userId);
+        localCategoryClassifier.evictUser(userId);
         return toResponse(t);
     }
 
@@ -115,11 +314,14 @@ public class TransactionService {
     public void delete(Long id, Long userId) {
         Transaction t = transactionRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Transaction", id));
-        if (!t.getUser().getId().equals(userId)) {
+        if (!t.getUser().getId().equals(userId) || t.getDeletedAt() != null) {
             throw new ResourceNotFoundException("Transaction", id);
         }
         t.setDeletedAt(java.time.Instant.now());
         transactionRepository.save(t);
+        monthlyRollupService.remove(t);
+        dashboardCache.evictUser(userId);
+        localCategoryClassifier.evictUser(userId);
     }
 
     @Transactional(readOnly = true)
@@ -127,16 +329,24 @@ public class TransactionService {
         return transactionRepository.findByUserIdAndDateBetween(userId, start, end);
     }
 
-    @Transactional(readOnly = true)
-    public BigDecimal sumByUserIdAndTypeAndDateBetween(Long userId, Category.TransactionType type, LocalDate start, LocalDate end) {
-        List<Transaction> list = transactionRepository.findByUserIdAndDateBetween(userId, start, end);
-        return list.stream()
-            .filter(t -> t.getType() == type)
-            .map(Transaction::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private static String encodeCursor(LocalDate date, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((date + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            return new Cursor(LocalDate.parse(key[0]), Long.parseLong(key[1]));
+        } catch (RuntimeException e) {
+            throw new com.tcsion.backend.exception.BadRequestException("Invalid cursor");
+        }
+    }
+
+    private record Cursor(LocalDate date, Long id) {
     }
 
-    private TransactionResponse toResponse(Transaction t) {
+    static TransactionResponse toResponse(Transaction t) {
         return TransactionResponse.builder()
             .id(t.getId())
             .amount(t.getAmount())
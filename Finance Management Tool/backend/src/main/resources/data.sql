@@ -16,3 +16,29 @@ UNION ALL SELECT 'Insurance', 'EXPENSE', true WHERE NOT EXISTS (SELECT 1 FROM ca
 UNION ALL SELECT 'Education', 'EXPENSE', true WHERE NOT EXISTS (SELECT 1 FROM categories LIMIT 1)
 UNION ALL SELECT 'Personal Care', 'EXPENSE', true WHERE NOT EXISTS (SELECT 1 FROM categories LIMIT 1)
 UNION ALL SELECT 'Other Expense', 'EXPENSE', true WHERE NOT EXISTS (SELECT 1 FROM categories LIMIT 1);
+
+-- Transaction ids moved from IDENTITY to the pooled transactions_seq; on an existing
+-- database move the sequence past the rows already inserted through the identity column
+SELECT setval('transactions_seq', (SELECT MAX(id) + 100 FROM transactions), false)
+WHERE (SELECT last_value FROM transactions_seq) <= (SELECT COALESCE(MAX(id), 0) FROM transactions);
+
+-- Full-text search over descriptions; the generated column keeps itself current on insert/update.
+-- The 'simple' configuration skips stemming and stop words so merchant names match as typed
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS description_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', coalesce(description, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_transaction_description_tsv ON transactions USING GIN (description_tsv);
+
+-- Budgets are unique per (user, category, month) and the upserts in BudgetRepository rely on it.
+-- Older duplicates left by the previous read-then-write upsert are dropped before the index is built
+DELETE FROM budgets b USING budgets newer
+WHERE b.user_id = newer.user_id AND b.category_id = newer.category_id
+  AND b.budget_month = newer.budget_month AND b.id < newer.id;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_budget_user_category_month ON budgets (user_id, category_id, budget_month);
+
+-- One health score per (user, month); the nightly scoring job upserts on this index. Carrying
+-- score in the index lets the score history be answered from the index alone
+DELETE FROM financial_health f USING financial_health newer
+WHERE f.user_id = newer.user_id AND f.score_month = newer.score_month AND f.id < newer.id;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_financial_health_user_month_score
+    ON financial_health (user_id, score_month) INCLUDE (score);
+DROP INDEX IF EXISTS uk_financial_health_user_month;
@@ -0,0 +1,67 @@
+package com.tcsion.backend.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClassificationCacheTest {
+
+    @Test
+    void normalizesLikeTheServiceCleansText() {
+        assertEquals("uber trip", ClassificationCache.normalize("  UBER *TRIP "));
+        assertEquals("cafe creme 42", ClassificationCache.normalize("Café-Crème\t42"));
+        assertEquals("amazon mktp us", ClassificationCache.normalize("AMAZON.MKTP/US"));
+        assertEquals("", ClassificationCache.normalize("*** "));
+        assertEquals("", ClassificationCache.normalize(null));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntryWhenFull() {
+        ClassificationCache cache = cache(2, false);
+        cache.put("rent", "Housing");
+        cache.put("netflix", "Entertainment");
+        cache.get("rent");
+        cache.put("uber", "Transportation");
+
+        assertEquals("Housing", cache.get("rent"));
+        assertNull(cache.get("netflix"));
+        assertEquals(2, cache.size());
+        assertEquals(2.0 / 3, cache.getHitRatio());
+    }
+
+    @Test
+    void skipsOverlongKeysAndMissingCategories() {
+        ClassificationCache cache = cache(10, false);
+        cache.put("x".repeat(ClassificationCache.MAX_KEY_LENGTH + 1), "Other");
+        cache.put("rent", null);
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void handsNewEntriesToTheStoreButNotRestoredOnes() {
+        ClassificationCache cache = cache(10, true);
+        cache.restore("rent", new ClassificationCache.Entry("Housing", Instant.now()));
+        cache.restore("stale", new ClassificationCache.Entry("Other", Instant.now().minus(Duration.ofDays(2))));
+        cache.put("uber", "Transportation");
+
+        Map<String, ClassificationCache.Entry> unsaved = cache.drainUnsaved();
+
+        assertEquals(1, unsaved.size());
+        assertEquals("Transportation", unsaved.get("uber").category());
+        assertTrue(cache.drainUnsaved().isEmpty());
+        assertEquals("Housing", cache.get("rent"));
+        assertNull(cache.get("stale"));
+    }
+
+    private static ClassificationCache cache(int maxEntries, boolean persist) {
+        return new ClassificationCache(maxEntries, Duration.ofDays(1), persist, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,54 @@
+package com.tcsion.backend.cache;
+
+import com.tcsion.backend.dto.response.DashboardResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DashboardCacheTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2026, 5);
+
+    private final DashboardCache cache = new DashboardCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void doesNotCachePartialOverviews() {
+        cache.overview(1L, MONTH, () -> overview(true));
+        cache.overview(1L, MONTH, () -> overview(false));
+        cache.overview(1L, MONTH, () -> overview(false));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictsOnlyAfterTheWriteCommits() {
+        cache.overview(1L, MONTH, () -> overview(false));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evictUser(1L);
+            cache.overview(1L, MONTH, () -> overview(false));
+            assertEquals(1, loads.get());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        cache.overview(1L, MONTH, () -> overview(false));
+        assertEquals(2, loads.get());
+    }
+
+    private DashboardResponse overview(boolean partial) {
+        loads.incrementAndGet();
+        return DashboardResponse.builder().partial(partial).build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.tcsion.backend.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserMonthCacheTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2026, 5);
+
+    private final MutableClock clock = new MutableClock();
+    private final UserMonthCache<String> cache = new UserMonthCache<>("test", 2, Duration.ofMinutes(10), clock);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesRepeatReadsFromTheCache() {
+        assertEquals("v1", cache.get(1L, MONTH, this::load));
+        assertEquals("v1", cache.get(1L, MONTH, this::load));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void reloadsOnceTheTtlPasses() {
+        cache.get(1L, MONTH, this::load);
+        clock.advance(Duration.ofMinutes(10));
+
+        assertEquals("v2", cache.get(1L, MONTH, this::load));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void evictUserDropsOnlyThatUser() {
+        cache.get(1L, MONTH, this::load);
+        cache.get(2L, MONTH, this::load);
+
+        cache.evictUser(1L);
+
+        assertEquals("v3", cache.get(1L, MONTH, this::load));
+        assertEquals("v2", cache.get(2L, MONTH, this::load));
+    }
+
+    @Test
+    void doesNotStoreAValueLoadedAcrossAnEviction() {
+        String loaded = cache.get(1L, MONTH, () -> {
+            cache.evictUser(1L);
+            return load();
+        });
+
+        assertEquals("v1", loaded);
+        assertEquals("v2", cache.get(1L, MONTH, this::load));
+    }
+
+    @Test
+    void doesNotStoreRejectedValues() {
+        cache.get(1L, MONTH, this::load, value -> false);
+
+        assertEquals("v2", cache.get(1L, MONTH, this::load));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedUserWhenFull() {
+        cache.get(1L, MONTH, this::load);
+        cache.get(2L, MONTH, this::load);
+        cache.get(1L, MONTH, this::load);
+        cache.get(3L, MONTH, this::load);
+
+        assertEquals(2, cache.getUserCount());
+        assertEquals("v1", cache.get(1L, MONTH, this::load));
+        assertEquals("v4", cache.get(2L, MONTH, this::load));
+    }
+
+    private String load() {
+        return "v" + loads.incrementAndGet();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-05-10T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
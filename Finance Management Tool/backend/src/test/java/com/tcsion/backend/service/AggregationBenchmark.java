@@ -0,0 +1,81 @@
+package com.tcsion.backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Per-month, per-category expense totals: the {@code BigDecimal::add} stream
+ * reduction the services used to run over transactions vs {@link CentsAccumulator}.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.tcsion.backend.service.AggregationBenchmark}, or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregationBenchmark {
+
+    private static final int MONTHS = 6;
+    private static final int CATEGORIES = 16;
+
+    @Param({ "1000", "100000" })
+    private int rows;
+
+    private Row[] data;
+
+    private record Row(int month, Long categoryId, BigDecimal amount) {
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        data = IntStream.range(0, rows)
+                .mapToObj(i -> new Row(random.nextInt(MONTHS), (long) random.nextInt(CATEGORIES) + 1,
+                        BigDecimal.valueOf(random.nextInt(500_000) + 1, 2)))
+                .toArray(Row[]::new);
+    }
+
+    @Benchmark
+    public Map<Integer, Map<Long, BigDecimal>> bigDecimalStream() {
+        return Arrays.stream(data)
+                .collect(Collectors.groupingBy(Row::month,
+                        Collectors.groupingBy(Row::categoryId,
+                                Collectors.reducing(BigDecimal.ZERO, Row::amount, BigDecimal::add))));
+    }
+
+    @Benchmark
+    public CentsAccumulator centsAccumulator() {
+        CentsAccumulator totals = new CentsAccumulator(MONTHS);
+        for (Row row : data) {
+            totals.add(row.month(), row.categoryId(), row.amount());
+        }
+        return totals;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AggregationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
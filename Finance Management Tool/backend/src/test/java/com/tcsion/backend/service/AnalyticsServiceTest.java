@@ -0,0 +1,107 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.cache.DashboardCache;
+import com.tcsion.backend.dto.projection.CategoryTrendTotal;
+import com.tcsion.backend.dto.projection.IncomeExpenseTotal;
+import com.tcsion.backend.exception.BadRequestException;
+import com.tcsion.backend.repository.MonthlyRollupRepository;
+import com.tcsion.backend.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AnalyticsServiceTest {
+
+    private final TransactionAggregationService aggregationService = mock(TransactionAggregationService.class);
+    private final MonthlyRollupRepository monthlyRollupRepository = mock(MonthlyRollupRepository.class);
+    private final FinancialHealthService financialHealthService = mock(FinancialHealthService.class);
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final AnalyticsService service = new AnalyticsService(aggregationService, monthlyRollupRepository,
+            new DashboardCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry()), financialHealthService,
+            transactionRepository);
+
+    @Test
+    void scoresTheLast30DaysFromTwoMonthBucketsLessTheDaysOutsideTheWindow() {
+        LocalDate end = LocalDate.now();
+        LocalDate start = end.minusMonths(1);
+        YearMonth first = YearMonth.from(start);
+        YearMonth last = YearMonth.from(end);
+        List<IncomeExpenseTotal> months = List.of(totals("3000.00", "2500.00"), totals("0.00", "1000.00"));
+        IncomeExpenseTotal outside = totals("0.00", "1400.00");
+        when(monthlyRollupRepository.sumIncomeAndExpenseByMonth(7L, first.toString(), last.toString())).thenReturn(months);
+        // Counting the days outside the window would overspend the income
+        when(transactionRepository.sumIncomeAndExpenseOutside(7L, first.atDay(1), start, end, last.atEndOfMonth()))
+                .thenReturn(Optional.of(outside));
+
+        Map<String, Object> score = service.getFinancialHealthScore(7L);
+
+        assertEquals(100, score.get("score"));
+        assertEquals("Excellent", score.get("status"));
+    }
+
+    @Test
+    void scoresTheBucketsAloneWhenNothingFallsOutsideTheWindow() {
+        List<IncomeExpenseTotal> months = List.of(totals("1000.00", "1000.00"));
+        when(monthlyRollupRepository.sumIncomeAndExpenseByMonth(eq(7L), any(), any())).thenReturn(months);
+
+        Map<String, Object> score = service.getFinancialHealthScore(7L);
+
+        assertEquals(50, score.get("score"));
+        assertEquals("Fair", score.get("status"));
+    }
+
+    @Test
+    void recommendsLimitsFromOneGroupedTrendQuery() {
+        YearMonth now = YearMonth.now();
+        List<CategoryTrendTotal> trend = List.of(
+                trend(2L, "Food", "900.00", "300.00"),
+                trend(3L, "Fuel", "150.00", "300.00"),
+                trend(4L, "Gym", "0.00", "0.00"));
+        when(monthlyRollupRepository.sumExpenseTrendByCategory(7L, now.minusMonths(5).toString(),
+                now.minusMonths(2).toString(), now.toString())).thenReturn(trend);
+
+        List<Map<String, Object>> recommendations = service.getBudgetRecommendations(7L, 6, 3);
+
+        assertEquals(2, recommendations.size());
+        assertEquals(new BigDecimal("200"), recommendations.get(0).get("currentAverage"));
+        assertEquals(new BigDecimal("270"), recommendations.get(0).get("recommendedLimit"));
+        assertEquals(new BigDecimal("50"), recommendations.get(1).get("recommendedLimit"));
+        assertEquals("You've been saving more recently! Good job keeping costs down.", recommendations.get(1).get("reason"));
+    }
+
+    @Test
+    void rejectsWindowsThatCannotBeCompared() {
+        assertThrows(BadRequestException.class, () -> service.getBudgetRecommendations(7L, 1, 1));
+        assertThrows(BadRequestException.class, () -> service.getBudgetRecommendations(7L, 6, 6));
+    }
+
+    private static CategoryTrendTotal trend(Long categoryId, String name, String recent, String past) {
+        CategoryTrendTotal total = mock(CategoryTrendTotal.class);
+        when(total.getCategoryId()).thenReturn(categoryId);
+        when(total.getCategoryName()).thenReturn(name);
+        when(total.getRecentTotal()).thenReturn(new BigDecimal(recent));
+        when(total.getPastTotal()).thenReturn(new BigDecimal(past));
+        return total;
+    }
+
+    private static IncomeExpenseTotal totals(String income, String expenses) {
+        IncomeExpenseTotal totals = mock(IncomeExpenseTotal.class);
+        when(totals.getIncome()).thenReturn(new BigDecimal(income));
+        when(totals.getExpenses()).thenReturn(new BigDecimal(expenses));
+        return totals;
+    }
+}
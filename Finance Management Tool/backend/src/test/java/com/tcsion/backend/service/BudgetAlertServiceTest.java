@@ -0,0 +1,124 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.cache.DashboardCache;
+import com.tcsion.backend.entity.Budget;
+import com.tcsion.backend.entity.BudgetAlert;
+import com.tcsion.backend.entity.Category;
+import com.tcsion.backend.repository.BudgetAlertRepository;
+import com.tcsion.backend.repository.BudgetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class BudgetAlertServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 4, 10);
+    private static final YearMonth APRIL = YearMonth.from(TODAY);
+
+    private final BudgetRepository budgetRepository = mock(BudgetRepository.class);
+    private final BudgetAlertRepository budgetAlertRepository = mock(BudgetAlertRepository.class);
+    private final DashboardCache dashboardCache = mock(DashboardCache.class);
+    private final BudgetAlertService service = new BudgetAlertService(budgetRepository, budgetAlertRepository,
+            dashboardCache, mock(PlatformTransactionManager.class), 1, 10);
+
+    private final Category food = Category.builder().id(2L).name("Food").type(Category.TransactionType.EXPENSE).build();
+
+    private List<BudgetAlert> saved = List.of();
+
+    BudgetAlertServiceTest() {
+        when(budgetAlertRepository.saveAll(any())).thenAnswer(invocation -> {
+            saved = List.copyOf(invocation.<List<BudgetAlert>>getArgument(0));
+            return saved;
+        });
+    }
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void warnsWhenTheCurrentMonthIsProjectedToOverspend() {
+        List<BudgetAlert> alerts = evaluate(APRIL, "300.00", "150.00");
+
+        assertEquals(1, alerts.size());
+        assertEquals(BudgetAlert.AlertType.PROJECTED_OVERSPEND, alerts.get(0).getType());
+        assertEquals(new BigDecimal("450.00"), alerts.get(0).getProjectedAmount());
+        verify(dashboardCache).evictUser(7L);
+    }
+
+    @Test
+    void judgesACompletedMonthOnWhatWasSpent() {
+        YearMonth march = APRIL.minusMonths(1);
+
+        assertEquals(List.of(), evaluate(march, "300.00", "250.00"));
+        assertEquals(BudgetAlert.AlertType.OVER_BUDGET, evaluate(march, "300.00", "350.00").get(0).getType());
+    }
+
+    @Test
+    void doesNotProjectAMonthThatHasNotStarted() {
+        YearMonth may = APRIL.plusMonths(1);
+
+        assertEquals(List.of(), evaluate(may, "300.00", "100.00"));
+        assertEquals(BudgetAlert.AlertType.OVER_BUDGET, evaluate(may, "300.00", "400.00").get(0).getType());
+    }
+
+    @Test
+    void leavesUnchangedAlertsInPlace() {
+        BudgetAlert stored = evaluate(APRIL, "300.00", "150.00").get(0);
+        when(budgetAlertRepository.findByUserIdAndAlertMonthOrderByIdAsc(7L, APRIL)).thenReturn(List.of(stored));
+
+        service.evaluate(7L, APRIL, TODAY);
+
+        verify(budgetAlertRepository, times(1)).deleteByUserIdAndMonth(7L, APRIL);
+        verify(dashboardCache, times(1)).evictUser(7L);
+    }
+
+    @Test
+    void evaluatesTheRequestedMonthsInTheBackground() {
+        YearMonth current = YearMonth.now();
+        when(budgetRepository.findWithSpentByUserIdAndMonth(any(), any())).thenReturn(List.of());
+
+        service.requestEvaluation(7L, Set.of(current, current.minusMonths(1)));
+
+        verify(budgetRepository, timeout(2_000)).findWithSpentByUserIdAndMonth(7L, current);
+        verify(budgetRepository, timeout(2_000)).findWithSpentByUserIdAndMonth(7L, current.minusMonths(1));
+    }
+
+    @Test
+    void discardsRequestsAfterShutdown() {
+        service.shutdown();
+
+        service.requestEvaluation(7L, Set.of(APRIL));
+        service.requestEvaluation(7L, Set.of(APRIL));
+
+        verifyNoInteractions(budgetRepository);
+    }
+
+    private List<BudgetAlert> evaluate(YearMonth month, String limit, String spent) {
+        Budget budget = Budget.builder().id(1L).budgetMonth(month).category(food).limitAmount(new BigDecimal(limit)).build();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] {budget, new BigDecimal(spent)});
+        when(budgetRepository.findWithSpentByUserIdAndMonth(7L, month)).thenReturn(rows);
+
+        saved = List.of();
+        service.evaluate(7L, month, TODAY);
+        return saved;
+    }
+}
@@ -0,0 +1,53 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.cache.DashboardCache;
+import com.tcsion.backend.repository.BudgetRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BudgetRolloverJobTest {
+
+    private static final YearMonth APRIL = YearMonth.of(2026, 4);
+
+    private final BudgetRepository budgetRepository = mock(BudgetRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final BudgetRolloverJob job = new BudgetRolloverJob(budgetRepository, mock(DashboardCache.class),
+            eventPublisher, mock(PlatformTransactionManager.class), 2, new BigDecimal("5"));
+
+    @Test
+    void copiesEachChunkOfUsersInOneStatementAndSurvivesAFailedChunk() {
+        when(budgetRepository.findUserIdsWithBudgetsAfter("2026-04", 0L, 2)).thenReturn(List.of(1L, 2L));
+        when(budgetRepository.findUserIdsWithBudgetsAfter("2026-04", 2L, 2)).thenReturn(List.of(4L, 9L));
+        when(budgetRepository.findUserIdsWithBudgetsAfter("2026-04", 9L, 2)).thenReturn(List.of());
+        when(budgetRepository.copyMonth("2026-04", "2026-05", new BigDecimal("1.05"), 1L, 2L))
+                .thenThrow(new QueryTimeoutException("timeout"));
+        when(budgetRepository.copyMonth("2026-04", "2026-05", new BigDecimal("1.05"), 4L, 9L)).thenReturn(6);
+
+        assertEquals(6, job.rolloverAll(APRIL));
+
+        verify(eventPublisher).publishEvent(new SpendChangedEvent(9L, APRIL.plusMonths(1)));
+        verify(eventPublisher, never()).publishEvent(new SpendChangedEvent(1L, APRIL.plusMonths(1)));
+    }
+
+    @Test
+    void doesNothingWhenNoOneHasBudgets() {
+        when(budgetRepository.findUserIdsWithBudgetsAfter("2026-04", 0L, 2)).thenReturn(List.of());
+
+        assertEquals(0, job.rolloverAll(APRIL));
+
+        verify(budgetRepository, never()).copyMonth(any(), any(), any(), any(), any());
+    }
+}
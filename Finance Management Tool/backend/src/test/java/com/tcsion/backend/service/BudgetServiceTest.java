@@ -0,0 +1,113 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.cache.DashboardCache;
+import com.tcsion.backend.dto.request.BulkBudgetRequest;
+import com.tcsion.backend.dto.response.BudgetResponse;
+import com.tcsion.backend.entity.Budget;
+import com.tcsion.backend.entity.Category;
+import com.tcsion.backend.entity.User;
+import com.tcsion.backend.exception.BadRequestException;
+import com.tcsion.backend.exception.ResourceNotFoundException;
+import com.tcsion.backend.repository.BudgetRepository;
+import com.tcsion.backend.repository.CategoryRepository;
+import com.tcsion.backend.repository.MonthlyRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class BudgetServiceTest {
+
+    private static final YearMonth MAY = YearMonth.of(2026, 5);
+
+    private final BudgetRepository budgetRepository = mock(BudgetRepository.class);
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final MonthlyRollupRepository monthlyRollupRepository = mock(MonthlyRollupRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final BudgetService service = new BudgetService(budgetRepository, mock(CategoryService.class),
+            categoryRepository, monthlyRollupRepository, mock(DashboardCache.class), eventPublisher);
+
+    private final Category food = Category.builder().id(2L).name("Food").type(Category.TransactionType.EXPENSE)
+            .isSystem(true).build();
+    private final Category rent = Category.builder().id(3L).name("Rent").type(Category.TransactionType.EXPENSE)
+            .isSystem(true).build();
+
+    @Test
+    void listsAMonthsBudgetsWithTheirSpendFromOneQuery() {
+        when(budgetRepository.findWithSpentByUserIdAndMonth(7L, MAY)).thenReturn(List.of(
+                new Object[] {budget(1L, food, "300.00"), new BigDecimal("120.40")},
+                new Object[] {budget(2L, rent, "900.00"), null}));
+
+        List<BudgetResponse> budgets = service.listByUserAndMonth(7L, MAY);
+
+        assertEquals(new BigDecimal("120.40"), budgets.get(0).getSpentAmount());
+        assertEquals(BigDecimal.ZERO, budgets.get(1).getSpentAmount());
+        assertEquals("Rent", budgets.get(1).getCategoryName());
+        verifyNoInteractions(monthlyRollupRepository);
+    }
+
+    @Test
+    void setsAWholeMonthOfBudgetsInOneStatement() {
+        when(categoryRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(food, rent));
+
+        service.upsertMonth(7L, month(item(2L, "300.00"), item(3L, "900.00")));
+
+        verify(budgetRepository).upsertAll(7L, MAY, List.of(2L, 3L),
+                List.of(new BigDecimal("300.00"), new BigDecimal("900.00")));
+        verify(eventPublisher).publishEvent(new SpendChangedEvent(7L, MAY));
+    }
+
+    @Test
+    void rejectsRepeatedOrForeignCategoriesBeforeWriting() {
+        Category foreign = Category.builder().id(4L).name("Hobby").type(Category.TransactionType.EXPENSE)
+                .user(User.builder().id(8L).build()).build();
+        when(categoryRepository.findAllById(List.of(2L, 4L))).thenReturn(List.of(food, foreign));
+
+        assertThrows(BadRequestException.class,
+                () -> service.upsertMonth(7L, month(item(2L, "1.00"), item(2L, "2.00"))));
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.upsertMonth(7L, month(item(2L, "1.00"), item(4L, "2.00"))));
+        verify(budgetRepository, never()).upsertAll(any(), any(), any(), any());
+    }
+
+    @Test
+    void rollsOverIntoTheNextMonthWithTheAdjustedLimit() {
+        when(budgetRepository.copyMonth("2026-05", "2026-06", new BigDecimal("0.90"), 7L, 7L)).thenReturn(2);
+
+        service.rollover(7L, MAY, new BigDecimal("-10"));
+
+        verify(budgetRepository).findWithSpentByUserIdAndMonth(7L, MAY.plusMonths(1));
+        verify(eventPublisher).publishEvent(new SpendChangedEvent(7L, MAY.plusMonths(1)));
+    }
+
+    @Test
+    void keepsLimitsWithoutAnAdjustmentAndRejectsOutOfRangeOnes() {
+        assertEquals(BigDecimal.ONE, BudgetService.rolloverFactor(null));
+        assertEquals(new BigDecimal("1.25"), BudgetService.rolloverFactor(new BigDecimal("25")));
+        assertThrows(BadRequestException.class, () -> BudgetService.rolloverFactor(new BigDecimal("-100")));
+        assertThrows(BadRequestException.class, () -> BudgetService.rolloverFactor(new BigDecimal("1000.5")));
+    }
+
+    private static BulkBudgetRequest month(BulkBudgetRequest.Item... items) {
+        return BulkBudgetRequest.builder().budgetMonth(MAY).budgets(List.of(items)).build();
+    }
+
+    private static BulkBudgetRequest.Item item(Long categoryId, String limit) {
+        return new BulkBudgetRequest.Item(categoryId, new BigDecimal(limit));
+    }
+
+    private static Budget budget(Long id, Category category, String limit) {
+        return Budget.builder().id(id).budgetMonth(MAY).category(category).limitAmount(new BigDecimal(limit)).build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.tcsion.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CentsAccumulatorTest {
+
+    @Test
+    void convertsAmountsToCents() {
+        assertEquals(1234L, CentsAccumulator.toCents(new BigDecimal("12.34")));
+        assertEquals(1230L, CentsAccumulator.toCents(new BigDecimal("12.3")));
+        assertEquals(1200L, CentsAccumulator.toCents(new BigDecimal("12")));
+        assertEquals(1200L, CentsAccumulator.toCents(new BigDecimal("1.2E+1")));
+        assertEquals(1234L, CentsAccumulator.toCents(new BigDecimal("12.3400")));
+        assertEquals(-5L, CentsAccumulator.toCents(new BigDecimal("-0.05")));
+    }
+
+    @Test
+    void rejectsAmountsFinerThanACent() {
+        assertThrows(ArithmeticException.class, () -> CentsAccumulator.toCents(new BigDecimal("1.001")));
+        assertThrows(ArithmeticException.class,
+                () -> new CentsAccumulator(1).add(0, 1L, new BigDecimal("0.005")));
+    }
+
+    @Test
+    void sumsPerRowAndCategory() {
+        CentsAccumulator accumulator = new CentsAccumulator(2);
+        accumulator.add(0, 1L, new BigDecimal("10.50"));
+        accumulator.add(0, 1L, new BigDecimal("-10.50"));
+        accumulator.add(0, 2L, 300L);
+        accumulator.add(1, 1L, 25L);
+
+        assertEquals(0L, accumulator.get(0, 1L));
+        assertTrue(accumulator.has(0, 1L));
+        assertFalse(accumulator.has(1, 2L));
+        assertEquals(300L, accumulator.rowTotal(0));
+        assertEquals(25L, accumulator.categoryTotal(1L, 0, 2));
+    }
+
+    @Test
+    void failsInsteadOfWrappingOnOverflow() {
+        CentsAccumulator accumulator = new CentsAccumulator(1);
+        accumulator.add(0, 1L, Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> accumulator.add(0, 1L, 1L));
+        assertEquals(Long.MAX_VALUE, accumulator.get(0, 1L));
+    }
+
+    @Test
+    void failsInsteadOfWrappingOnOverflowingTotals() {
+        CentsAccumulator accumulator = new CentsAccumulator(2);
+        accumulator.add(0, 1L, Long.MAX_VALUE);
+        accumulator.add(0, 2L, 1L);
+        accumulator.add(1, 1L, 1L);
+
+        assertThrows(ArithmeticException.class, () -> accumulator.rowTotal(0));
+        assertThrows(ArithmeticException.class, () -> accumulator.categoryTotal(1L, 0, 2));
+    }
+}
@@ -0,0 +1,95 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.cache.ClassificationCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClassificationBatcherTest {
+
+    private final MLServiceClient mlServiceClient = mock(MLServiceClient.class);
+    private final ClassificationCache cache = new ClassificationCache(100, Duration.ofHours(1), false, new SimpleMeterRegistry());
+    private final List<List<String>> calls = new CopyOnWriteArrayList<>();
+    private ClassificationBatcher batcher;
+
+    ClassificationBatcherTest() {
+        when(mlServiceClient.classifyTransactions(anyList())).thenAnswer(invocation -> {
+            List<String> descriptions = invocation.getArgument(0);
+            calls.add(List.copyOf(descriptions));
+            return descriptions.stream().map(d -> "category of " + d).toList();
+        });
+    }
+
+    @AfterEach
+    void shutdown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    void sendsABatchAsSoonAsItIsFull() throws Exception {
+        batcher = new ClassificationBatcher(mlServiceClient, cache, new SimpleMeterRegistry(), 3, Duration.ofSeconds(30), 100);
+
+        CompletableFuture<String> a = batcher.classify("Rent");
+        CompletableFuture<String> b = batcher.classify("Netflix");
+        CompletableFuture<String> c = batcher.classify("Uber");
+
+        // Well inside the 30 s linger, so only the size limit can have released the batch
+        assertEquals("category of Uber", c.get(5, TimeUnit.SECONDS));
+        assertEquals("category of Rent", a.get(5, TimeUnit.SECONDS));
+        assertEquals("category of Netflix", b.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("Rent", "Netflix", "Uber")), calls);
+    }
+
+    @Test
+    void sendsAPartialBatchOnceTheLingerExpires() throws Exception {
+        batcher = new ClassificationBatcher(mlServiceClient, cache, new SimpleMeterRegistry(), 64, Duration.ofMillis(50), 100);
+
+        assertEquals("category of Rent", batcher.classify("Rent").get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("Rent")), calls);
+    }
+
+    @Test
+    void sendsDescriptionsThatNormalizeAlikeOnce() throws Exception {
+        batcher = new ClassificationBatcher(mlServiceClient, cache, new SimpleMeterRegistry(), 2, Duration.ofSeconds(30), 100);
+
+        CompletableFuture<String> first = batcher.classify("UBER *TRIP");
+        CompletableFuture<String> second = batcher.classify("uber trip");
+
+        assertEquals("category of UBER *TRIP", second.get(5, TimeUnit.SECONDS));
+        assertEquals("category of UBER *TRIP", first.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("UBER *TRIP")), calls);
+    }
+
+    @Test
+    void answersRepeatsFromTheCacheWithoutCallingTheService() throws Exception {
+        batcher = new ClassificationBatcher(mlServiceClient, cache, new SimpleMeterRegistry(), 64, Duration.ofMillis(10), 100);
+
+        batcher.classify("Netflix.com").get(5, TimeUnit.SECONDS);
+        CompletableFuture<String> repeat = batcher.classify("NETFLIX COM");
+
+        assertTrue(repeat.isDone());
+        assertEquals("category of Netflix.com", repeat.get());
+        assertEquals(1, calls.size());
+    }
+
+    @Test
+    void completesWithNullWhenTheServiceFails() throws Exception {
+        when(mlServiceClient.classifyTransactions(anyList())).thenThrow(new IllegalStateException("circuit open"));
+        batcher = new ClassificationBatcher(mlServiceClient, cache, new SimpleMeterRegistry(), 64, Duration.ofMillis(10), 100);
+
+        assertNull(batcher.classify("Rent").get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,89 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.cache.DashboardCache;
+import com.tcsion.backend.dto.response.DashboardResponse;
+import com.tcsion.backend.entity.Category;
+import com.tcsion.backend.entity.FinancialHealth;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceTest {
+
+    private final TransactionAggregationService aggregationService = mock(TransactionAggregationService.class);
+    private final FinancialHealthService financialHealthService = mock(FinancialHealthService.class);
+    private final BudgetAlertService budgetAlertService = mock(BudgetAlertService.class);
+    private final DashboardService service = new DashboardService(aggregationService, financialHealthService,
+            budgetAlertService, new DashboardCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry()),
+            mock(PlatformTransactionManager.class));
+
+    private final YearMonth current = YearMonth.now();
+
+    DashboardServiceTest() {
+        ReflectionTestUtils.setField(service, "deadline", Duration.ofMillis(300));
+    }
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void buildsTheOverviewFromEverySection() {
+        SpendingSummary summary = new SpendingSummary(current.minusMonths(5), current);
+        summary.add(current, Category.TransactionType.INCOME, 1L, "Salary", new BigDecimal("3000.00"));
+        summary.add(current, Category.TransactionType.EXPENSE, 2L, "Food", new BigDecimal("250.00"));
+        when(aggregationService.summarize(1L, current.minusMonths(5), current)).thenReturn(summary);
+        when(financialHealthService.getLatestByUserId(1L))
+                .thenReturn(Optional.of(FinancialHealth.builder().score(72).build()));
+        when(budgetAlertService.getMessages(1L, current)).thenReturn(List.of("Food is over budget"));
+
+        DashboardResponse overview = service.getOverview(1L);
+
+        assertFalse(overview.getPartial());
+        assertEquals(new BigDecimal("2750.00"), overview.getNetSavings());
+        assertEquals(72, overview.getFinancialHealthScore());
+        assertEquals(List.of("Food is over budget"), overview.getAlerts());
+        assertEquals(6, overview.getMonthlyTrends().size());
+        assertEquals("Food", overview.getSpendingByCategory().get(0).get("categoryName"));
+    }
+
+    @Test
+    void replacesFailedAndLateSectionsAndDoesNotCacheTheResult() {
+        when(aggregationService.summarize(eq(1L), any(), any()))
+                .thenReturn(new SpendingSummary(current.minusMonths(5), current));
+        when(financialHealthService.getLatestByUserId(1L)).thenThrow(new IllegalStateException("boom"));
+        when(budgetAlertService.getMessages(1L, current)).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return List.of("too late");
+        });
+
+        DashboardResponse overview = service.getOverview(1L);
+
+        assertTrue(overview.getPartial());
+        assertEquals(List.of("healthScore", "alerts"), overview.getDegradedSections());
+        assertEquals(0, overview.getFinancialHealthScore());
+        assertEquals(List.of(), overview.getAlerts());
+
+        service.getOverview(1L);
+        verify(aggregationService, times(2)).summarize(eq(1L), any(), any());
+    }
+}
@@ -0,0 +1,87 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.cache.DashboardCache;
+import com.tcsion.backend.dto.projection.IncomeExpenseTotal;
+import com.tcsion.backend.entity.FinancialHealth;
+import com.tcsion.backend.repository.FinancialHealthRepository;
+import com.tcsion.backend.repository.MonthlyRollupRepository;
+import com.tcsion.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FinancialHealthScoringJobTest {
+
+    private static final YearMonth APRIL = YearMonth.of(2026, 4);
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final MonthlyRollupRepository monthlyRollupRepository = mock(MonthlyRollupRepository.class);
+    private final FinancialHealthRepository financialHealthRepository = mock(FinancialHealthRepository.class);
+    private final FinancialHealthScoringJob job = new FinancialHealthScoringJob(userRepository, monthlyRollupRepository,
+            financialHealthRepository, mock(DashboardCache.class), mock(PlatformTransactionManager.class), 2, 2);
+
+    private final Map<Long, Integer> written = new ConcurrentHashMap<>();
+
+    FinancialHealthScoringJobTest() {
+        doAnswer(invocation -> {
+            List<FinancialHealth> scores = invocation.getArgument(0);
+            scores.forEach(score -> written.put(score.getUser().getId(), score.getScore()));
+            return null;
+        }).when(financialHealthRepository).upsertAll(any());
+    }
+
+    @Test
+    void scoresUsersInChunksAndKeepsGoingPastAFailedChunk() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L, 4L, 5L));
+        when(monthlyRollupRepository.sumIncomeAndExpenseByUser(List.of(1L, 2L), "2026-04")).thenReturn(List.of(
+                new Totals(1L, "1000.00", "800.00"),
+                new Totals(2L, "1000.00", "1500.00")));
+        when(monthlyRollupRepository.sumIncomeAndExpenseByUser(List.of(3L, 4L), "2026-04"))
+                .thenThrow(new QueryTimeoutException("timeout"));
+        // User 5 had no activity this month, so has no totals row and no score
+        when(monthlyRollupRepository.sumIncomeAndExpenseByUser(List.of(5L), "2026-04")).thenReturn(List.of());
+
+        assertEquals(2, job.scoreMonth(APRIL));
+
+        assertEquals(Map.of(1L, 100, 2L, 0), written);
+        verify(monthlyRollupRepository, times(3)).sumIncomeAndExpenseByUser(any(), eq("2026-04"));
+    }
+
+    private record Totals(Long userId, String income, String expenses) implements IncomeExpenseTotal {
+
+        @Override
+        public Long getUserId() {
+            return userId;
+        }
+
+        @Override
+        public String getYearMonth() {
+            return "2026-04";
+        }
+
+        @Override
+        public BigDecimal getIncome() {
+            return new BigDecimal(income);
+        }
+
+        @Override
+        public BigDecimal getExpenses() {
+            return new BigDecimal(expenses);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.cache.DashboardCache;
+import com.tcsion.backend.dto.projection.HealthScorePoint;
+import com.tcsion.backend.dto.projection.IncomeExpenseTotal;
+import com.tcsion.backend.entity.FinancialHealth;
+import com.tcsion.backend.repository.FinancialHealthRepository;
+import com.tcsion.backend.repository.MonthlyRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class FinancialHealthServiceTest {
+
+    private static final YearMonth JAN = YearMonth.of(2026, 1);
+    private static final YearMonth MAR = YearMonth.of(2026, 3);
+
+    private final FinancialHealthRepository financialHealthRepository = mock(FinancialHealthRepository.class);
+    private final MonthlyRollupRepository monthlyRollupRepository = mock(MonthlyRollupRepository.class);
+    private final DashboardCache dashboardCache = mock(DashboardCache.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final FinancialHealthService service = new FinancialHealthService(financialHealthRepository,
+            monthlyRollupRepository, dashboardCache, transactionManager);
+
+    @Test
+    void servesAFullyStoredHistoryWithoutScoringOrLocking() {
+        when(financialHealthRepository.findScoreHistory(7L, "2026-01", "2026-03")).thenReturn(List.of(
+                new Point("2026-01", 40), new Point("2026-02", 55), new Point("2026-03", 70)));
+
+        assertEquals(Map.of(JAN, 40, JAN.plusMonths(1), 55, MAR, 70), service.getScoreHistory(7L, JAN, MAR));
+
+        verifyNoInteractions(monthlyRollupRepository, transactionManager);
+        verify(financialHealthRepository, never()).lockUserScores(anyLong());
+    }
+
+    @Test
+    void readsMissingMonthsWithoutActivityWithoutATransaction() {
+        when(financialHealthRepository.findScoreHistory(7L, "2026-01", "2026-03"))
+                .thenReturn(List.of(new Point("2026-02", 55)));
+
+        assertEquals(Map.of(JAN.plusMonths(1), 55), service.getScoreHistory(7L, JAN, MAR));
+
+        verify(monthlyRollupRepository).sumIncomeAndExpenseByMonth(7L, "2026-01", "2026-03");
+        verifyNoInteractions(transactionManager);
+        verify(financialHealthRepository, never()).lockUserScores(anyLong());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void backfillsMissingMonthsWithActivityUnderTheScoreLock() {
+        when(financialHealthRepository.findScoreHistory(7L, "2026-01", "2026-03"))
+                .thenReturn(List.of(new Point("2026-02", 55)));
+        // The stored February is not rescored even though the range query returns it
+        List<IncomeExpenseTotal> totals = List.of(
+                new Totals("2026-01", "1000.00", "800.00"),
+                new Totals("2026-02", "1000.00", "1000.00"));
+        when(monthlyRollupRepository.sumIncomeAndExpenseByMonth(7L, "2026-01", "2026-03")).thenReturn(totals);
+
+        assertEquals(Map.of(JAN, 100, JAN.plusMonths(1), 55), service.getScoreHistory(7L, JAN, MAR));
+
+        verify(financialHealthRepository).lockUserScores(7L);
+        ArgumentCaptor<List<FinancialHealth>> backfill = ArgumentCaptor.forClass(List.class);
+        verify(financialHealthRepository).upsertAll(backfill.capture());
+        assertEquals(List.of(JAN), backfill.getValue().stream().map(FinancialHealth::getScoreMonth).toList());
+    }
+
+    @Test
+    void invalidatesOnlyCompletedMonths() {
+        YearMonth current = YearMonth.now();
+
+        service.invalidateCompletedMonths(7L, List.of(current));
+        verifyNoInteractions(financialHealthRepository, dashboardCache);
+
+        service.invalidateCompletedMonths(7L, List.of(current, current.minusMonths(2), current.minusMonths(2)));
+        verify(financialHealthRepository).deleteByUserIdAndScoreMonths(7L, List.of(current.minusMonths(2).toString()));
+        verify(dashboardCache).evictHealthHistory(7L);
+        verify(financialHealthRepository, never()).upsertAll(any());
+    }
+
+    private record Point(String scoreMonth, Integer score) implements HealthScorePoint {
+
+        @Override
+        public String getScoreMonth() {
+            return scoreMonth;
+        }
+
+        @Override
+        public Integer getScore() {
+            return score;
+        }
+    }
+
+    private record Totals(String yearMonth, String income, String expenses) implements IncomeExpenseTotal {
+
+        @Override
+        public Long getUserId() {
+            return 7L;
+        }
+
+        @Override
+        public String getYearMonth() {
+            return yearMonth;
+        }
+
+        @Override
+        public BigDecimal getIncome() {
+            return new BigDecimal(income);
+        }
+
+        @Override
+        public BigDecimal getExpenses() {
+            return new BigDecimal(expenses);
+        }
+    }
+}
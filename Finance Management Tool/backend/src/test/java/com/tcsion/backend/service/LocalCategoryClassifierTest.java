@@ -0,0 +1,133 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.dto.projection.CategorizedDescription;
+import com.tcsion.backend.dto.response.CategorySuggestion;
+import com.tcsion.backend.entity.Category;
+import com.tcsion.backend.entity.Transaction;
+import com.tcsion.backend.entity.User;
+import com.tcsion.backend.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LocalCategoryClassifierTest {
+
+    private static final List<CategorizedDescription> HISTORY = List.of(
+            new Sample(1L, "Entertainment", "Netflix monthly"),
+            new Sample(1L, "Entertainment", "NETFLIX.COM"),
+            new Sample(1L, "Entertainment", "Spotify premium"),
+            new Sample(2L, "Transport", "Uber trip"),
+            new Sample(2L, "Transport", "UBER *TRIP"),
+            new Sample(2L, "Transport", "Metro card top up"));
+
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final LocalCategoryClassifier classifier = new LocalCategoryClassifier(transactionRepository,
+            new SimpleMeterRegistry(), 2, 0.8, 5, 100);
+
+    LocalCategoryClassifierTest() {
+        when(transactionRepository.findTrainingSamples(any(), any())).thenReturn(HISTORY);
+    }
+
+    @Test
+    void predictsTheCategoryTheUserFiledSimilarDescriptionsUnder() {
+        CategorySuggestion suggestion = classifier.classify(7L, "Netflix.com subscription").orElseThrow();
+
+        assertEquals(1L, suggestion.getCategoryId());
+        assertEquals("Entertainment", suggestion.getCategoryName());
+        assertEquals(CategorySuggestion.Source.LOCAL, suggestion.getSource());
+        assertTrue(suggestion.getConfidence() >= 0.8 && suggestion.getConfidence() <= 1.0);
+        assertEquals("Transport", classifier.classify(7L, "uber trip").orElseThrow().getCategoryName());
+        // The model is built once and then served from memory
+        verify(transactionRepository, times(1)).findTrainingSamples(7L, Limit.of(100));
+    }
+
+    @Test
+    void leavesUnsureAndUndertrainedDescriptionsToTheMlService() {
+        assertEquals(Optional.empty(), classifier.classify(7L, "grocery store"));
+
+        when(transactionRepository.findTrainingSamples(8L, Limit.of(100))).thenReturn(HISTORY.subList(0, 4));
+        assertEquals(Optional.empty(), classifier.classify(8L, "Netflix"));
+    }
+
+    @Test
+    void learnsFromNewTransactionsOnlyOnceTheyCommit() {
+        classifier.classify(7L, "Netflix");
+        Transaction rent = Transaction.builder().description("Rent April").user(User.builder().id(7L).build())
+                .category(Category.builder().id(3L).name("Housing").type(Category.TransactionType.EXPENSE).build())
+                .build();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            classifier.learn(rent);
+            classifier.learn(rent);
+            classifier.learn(rent);
+            assertEquals(Optional.empty(), classifier.classify(7L, "rent april"));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals("Housing", classifier.classify(7L, "rent april").orElseThrow().getCategoryName());
+    }
+
+    @Test
+    void keepsOnlyTheMostRecentlyUsedModels() {
+        classifier.classify(1L, "Netflix");
+        classifier.classify(2L, "Netflix");
+        classifier.classify(1L, "Netflix");
+        classifier.classify(3L, "Netflix");
+
+        assertEquals(2, classifier.modelCount());
+        classifier.classify(1L, "Netflix");
+        verify(transactionRepository, times(1)).findTrainingSamples(1L, Limit.of(100));
+
+        classifier.evictUser(1L);
+        classifier.classify(1L, "Netflix");
+        verify(transactionRepository, times(2)).findTrainingSamples(1L, Limit.of(100));
+    }
+
+    @Test
+    void hasNothingToPredictFromAnEmptyModelOrDescription() {
+        NaiveBayesModel model = new NaiveBayesModel(10);
+        assertNull(model.predict("netflix"));
+
+        model.train(1L, "Entertainment", "netflix");
+        model.train(1L, "Entertainment", "");
+        assertEquals(1, model.documents());
+        assertNull(model.predict(""));
+        // A single category explains everything
+        assertEquals(1.0, model.predict("anything").confidence(), 1e-9);
+    }
+
+    private record Sample(Long categoryId, String categoryName, String description) implements CategorizedDescription {
+
+        @Override
+        public Long getCategoryId() {
+            return categoryId;
+        }
+
+        @Override
+        public String getCategoryName() {
+            return categoryName;
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+    }
+}
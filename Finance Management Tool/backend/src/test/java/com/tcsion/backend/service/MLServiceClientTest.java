@@ -0,0 +1,227 @@
+package com.tcsion.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tcsion.backend.dto.response.MLPredictionResponse;
+import com.tcsion.backend.dto.response.ParseResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MLServiceClientTest {
+
+    private StubMLServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private MLServiceClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new StubMLServer();
+        meterRegistry = new SimpleMeterRegistry();
+        client = newClient(new MLServiceGuard(meterRegistry, LIMITS, 100,
+                100, Duration.ofMinutes(1), Clock.systemUTC()));
+    }
+
+    private static final Map<String, Integer> LIMITS = Map.of(
+            MLServiceClient.CLASSIFY, 2, MLServiceClient.CLASSIFY_BATCH, 2,
+            MLServiceClient.PREDICT, 2, MLServiceClient.PARSE, 2);
+
+    private MLServiceClient newClient(MLServiceGuard guard) {
+        return new MLServiceClient(new ObjectMapper(), meterRegistry, guard, server.baseUrl(), false,
+                Duration.ofSeconds(1), Duration.ofMillis(300), Duration.ofSeconds(1),
+                Duration.ofSeconds(2), Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.close();
+    }
+
+    @Test
+    void classifiesThroughTheService() {
+        server.respond("/classify", "{\"predicted_category\":\"Food & Dining\",\"confidence\":0.91}");
+
+        assertEquals("Food & Dining", client.classifyTransaction("Swiggy order"));
+        assertEquals(List.of("{\"description\":\"Swiggy order\"}"), server.requests("/classify"));
+        assertEquals(1, meterRegistry.get("ml.client.requests")
+                .tags("operation", "classify", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void classifiesABatchInInputOrder() {
+        server.respond("/classify/batch", "{\"results\":[{\"predicted_category\":\"Entertainment\",\"confidence\":0.8},"
+                + "{\"predicted_category\":\"Transportation\",\"confidence\":0.8}]}");
+
+        assertEquals(List.of("Entertainment", "Transportation"),
+                client.classifyTransactions(List.of("Netflix.com", "UBER *TRIP")));
+        assertEquals(List.of("{\"descriptions\":[\"Netflix.com\",\"UBER *TRIP\"]}"), server.requests("/classify/batch"));
+
+        // A result count that does not match the request is not trusted
+        server.respond("/classify/batch", "{\"results\":[{\"predicted_category\":\"Shopping\",\"confidence\":0.8}]}");
+        assertNull(client.classifyTransactions(List.of("only one of two results", "second")));
+    }
+
+    @Test
+    void readsResponsesWithUnknownFields() {
+        server.respond("/nlp/parse", "{\"amount\":250.0,\"category\":\"Transport\",\"extra\":true}");
+        server.respond("/predict", "{\"predictions\":[{\"category\":\"Rent\",\"predicted_amount\":1200.50,"
+                + "\"confidence\":0.8,\"target_month\":1}],\"target_months\":[\"2026-11\"],\"model\":\"v2\"}");
+
+        ParseResponse parsed = client.parseTransaction("250 for cab");
+        assertNotNull(parsed);
+        assertEquals("Transport", parsed.getCategory());
+
+        MLPredictionResponse prediction = client.predictSpending(List.of());
+        assertNotNull(prediction);
+        assertEquals("Rent", prediction.getPredictions().get(0).getCategory());
+    }
+
+    @Test
+    void returnsNullOnServerError() {
+        server.respond("/classify", 503, request -> "{}", Duration.ZERO);
+
+        assertNull(client.classifyTransaction("anything"));
+        assertEquals(1, meterRegistry.get("ml.client.requests")
+                .tags("operation", "classify", "outcome", "http_503").timer().count());
+    }
+
+    @Test
+    void givesUpAfterTheOperationTimeout() {
+        server.respond("/classify", 200, request -> "{\"predicted_category\":\"Late\"}", Duration.ofSeconds(3));
+
+        long started = System.nanoTime();
+        assertNull(client.classifyTransaction("slow"));
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(2)) < 0);
+        assertEquals(1, meterRegistry.get("ml.client.requests")
+                .tags("operation", "classify", "outcome", "timeout").timer().count());
+    }
+
+    @Test
+    void doesNotCountInterruptsAgainstTheCircuit() {
+        MLServiceGuard guard = new MLServiceGuard(new SimpleMeterRegistry(), LIMITS, 1,
+                100, Duration.ofMinutes(1), Clock.systemUTC());
+        MLServiceClient interruptedClient = newClient(guard);
+        server.respond("/classify", "{\"predicted_category\":\"Food & Dining\"}");
+
+        Thread.currentThread().interrupt();
+        assertNull(interruptedClient.classifyTransaction("interrupted"));
+        assertTrue(Thread.interrupted());
+
+        assertEquals(MLServiceGuard.State.CLOSED, guard.getState());
+        assertEquals(0, guard.getConsecutiveFailures());
+        assertEquals("Food & Dining", interruptedClient.classifyTransaction("next"));
+        interruptedClient.shutdown();
+    }
+
+    @Test
+    void opensTheCircuitAfterConsecutiveFailures() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MLServiceGuard guard = new MLServiceGuard(registry, LIMITS, 2,
+                100, Duration.ofMinutes(1), Clock.systemUTC());
+        MLServiceClient breakingClient = newClient(guard);
+        server.respond("/classify", 503, request -> "{}", Duration.ZERO);
+
+        assertNull(breakingClient.classifyTransaction("one"));
+        assertNull(breakingClient.classifyTransaction("two"));
+        assertEquals(MLServiceGuard.State.OPEN, guard.getState());
+
+        assertNull(breakingClient.classifyTransaction("three"));
+        assertEquals(2, server.requests("/classify").size());
+        assertEquals(1, registry.get("ml.client.rejected")
+                .tags("operation", "classify", "reason", "circuit-open").counter().count());
+        breakingClient.shutdown();
+    }
+
+    @Test
+    void closesTheCircuitWhenTheProbeSucceeds() {
+        MutableClock clock = new MutableClock();
+        MLServiceGuard guard = new MLServiceGuard(new SimpleMeterRegistry(), LIMITS, 1,
+                100, Duration.ofSeconds(30), clock);
+        MLServiceClient breakingClient = newClient(guard);
+        server.respond("/classify", 503, request -> "{}", Duration.ZERO);
+        assertNull(breakingClient.classifyTransaction("down"));
+        assertEquals(MLServiceGuard.State.OPEN, guard.getState());
+
+        server.respond("/classify", "{\"predicted_category\":\"Shopping\"}");
+        clock.advance(Duration.ofSeconds(31));
+        assertEquals("Shopping", breakingClient.classifyTransaction("back"));
+        assertEquals(MLServiceGuard.State.CLOSED, guard.getState());
+        breakingClient.shutdown();
+    }
+
+    @Test
+    void rejectsCallsBeyondTheBulkheadLimit() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        server.respond("/nlp/parse", 200, request -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "{\"category\":\"Bills\"}";
+        }, Duration.ZERO);
+
+        CompletableFuture<ParseResponse> first = CompletableFuture.supplyAsync(() -> client.parseTransaction("a"));
+        CompletableFuture<ParseResponse> second = CompletableFuture.supplyAsync(() -> client.parseTransaction("b"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("ml.client.in-flight").tag("operation", "parse").gauge().value() < 2
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertNull(client.parseTransaction("c"));
+        assertEquals(1, meterRegistry.get("ml.client.rejected")
+                .tags("operation", "parse", "reason", "bulkhead-full").counter().count());
+        // Other operations have their own bulkhead
+        server.respond("/classify", "{\"predicted_category\":\"Bills\"}");
+        assertEquals("Bills", client.classifyTransaction("electricity"));
+
+
+        release.countDown();
+        assertNotNull(first.get(5, TimeUnit.SECONDS));
+        assertNotNull(second.get(5, TimeUnit.SECONDS));
+        assertEquals(0, meterRegistry.get("ml.client.in-flight").tag("operation", "parse").gauge().value());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.now();
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.cache.DashboardCache;
+import com.tcsion.backend.entity.Category;
+import com.tcsion.backend.entity.Transaction;
+import com.tcsion.backend.entity.User;
+import com.tcsion.backend.repository.MonthlyRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class MonthlyRollupServiceTest {
+
+    private final MonthlyRollupRepository repository = mock(MonthlyRollupRepository.class);
+    private final DashboardCache dashboardCache = mock(DashboardCache.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final FinancialHealthService financialHealthService = mock(FinancialHealthService.class);
+    private final MonthlyRollupService service =
+            new MonthlyRollupService(repository, dashboardCache, eventPublisher, financialHealthService);
+
+    private final User user = User.builder().id(7L).build();
+    private final Category food = Category.builder().id(2L).type(Category.TransactionType.EXPENSE).build();
+    private final Category salary = Category.builder().id(1L).type(Category.TransactionType.INCOME).build();
+
+    @Test
+    void addAllUpsertsEachBucketOnce() {
+        service.addAll(List.of(
+                transaction(food, "10.10", LocalDate.of(2026, 3, 2)),
+                transaction(food, "5.05", LocalDate.of(2026, 3, 30)),
+                transaction(salary, "2000.00", LocalDate.of(2026, 3, 1)),
+                transaction(food, "7.00", LocalDate.of(2026, 4, 1))));
+
+        verify(repository).applyDelta(7L, "2026-03", 2L, "EXPENSE", new BigDecimal("15.15"), 2);
+        verify(repository).applyDelta(7L, "2026-03", 1L, "INCOME", new BigDecimal("2000.00"), 1);
+        verify(repository).applyDelta(7L, "2026-04", 2L, "EXPENSE", new BigDecimal("7.00"), 1);
+        verifyNoMoreInteractions(repository);
+
+        Set<YearMonth> months = Set.of(YearMonth.of(2026, 3), YearMonth.of(2026, 4));
+        verify(financialHealthService).invalidateCompletedMonths(7L, months);
+        verify(eventPublisher).publishEvent(new SpendChangedEvent(7L, months));
+    }
+
+    @Test
+    void removeAppliesANegativeDelta() {
+        service.remove(transaction(food, "12.34", LocalDate.of(2026, 2, 14)));
+
+        verify(repository).applyDelta(7L, "2026-02", 2L, "EXPENSE", new BigDecimal("-12.34"), -1);
+        verify(eventPublisher).publishEvent(new SpendChangedEvent(7L, YearMonth.of(2026, 2)));
+    }
+
+    @Test
+    void addAllOfNothingWritesNothing() {
+        service.addAll(List.of());
+
+        verify(repository, never()).applyDelta(anyLong(), any(), anyLong(), any(), any(), anyLong());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void reconcileRepublishesEveryMonthSinceTheRepairedOne() {
+        YearMonth since = YearMonth.now().minusMonths(2);
+        when(repository.repairDrift(7L, since.atDay(1), since.toString())).thenReturn(3);
+
+        assertEquals(3, service.reconcile(7L, since));
+
+        Set<YearMonth> months = Set.of(since, since.plusMonths(1), since.plusMonths(2));
+        verify(repository).lockBuckets(7L, since.toString());
+        verify(dashboardCache).evictUser(7L);
+        verify(financialHealthService).invalidateCompletedMonths(7L, months);
+        verify(eventPublisher).publishEvent(new SpendChangedEvent(7L, months));
+    }
+
+    @Test
+    void reconcileLeavesCachesAloneWhenNothingDrifted() {
+        YearMonth since = YearMonth.now();
+        when(repository.repairDrift(7L, since.atDay(1), since.toString())).thenReturn(0);
+
+        assertEquals(0, service.reconcile(7L, since));
+
+        verifyNoInteractions(dashboardCache, financialHealthService, eventPublisher);
+    }
+
+    private Transaction transaction(Category category, String amount, LocalDate date) {
+        return Transaction.builder()
+                .user(user)
+                .category(category)
+                .type(category.getType())
+                .amount(new BigDecimal(amount))
+                .transactionDate(date)
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.tcsion.backend.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * In-process stand-in for the Python ML service. Each path answers with a
+ * canned JSON body (or a function of the request body), optionally after a
+ * delay, and every request body is recorded for assertions.
+ */
+class StubMLServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> requests = new ConcurrentHashMap<>();
+
+    private record Route(int status, Function<String, String> body, Duration delay) {
+    }
+
+    StubMLServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    StubMLServer respond(String path, String json) {
+        return respond(path, 200, request -> json, Duration.ZERO);
+    }
+
+    StubMLServer respond(String path, int status, Function<String, String> body, Duration delay) {
+        routes.put(path, new Route(status, body, delay));
+        return this;
+    }
+
+    List<String> requests(String path) {
+        return requests.getOrDefault(path, List.of());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        requests.computeIfAbsent(path, p -> new CopyOnWriteArrayList<>()).add(requestBody);
+
+        Route route = routes.get(path);
+        if (route == null) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        try {
+            Thread.sleep(route.delay());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] response = route.body().apply(requestBody).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(route.status(), response.length);
+            out.write(response);
+        } catch (IOException e) {
+            // Client gave up (timeout test)
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
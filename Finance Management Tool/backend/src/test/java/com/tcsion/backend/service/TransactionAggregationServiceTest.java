@@ -0,0 +1,75 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.entity.Category;
+import com.tcsion.backend.entity.MonthlyRollup;
+import com.tcsion.backend.repository.MonthlyRollupRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TransactionAggregationServiceTest {
+
+    private static final YearMonth FROM = YearMonth.of(2026, 1);
+    private static final YearMonth TO = YearMonth.of(2026, 3);
+
+    private final MonthlyRollupRepository repository = mock(MonthlyRollupRepository.class);
+    private final TransactionAggregationService service = new TransactionAggregationService(repository);
+
+    private final Category salary = category(1L, "Salary", Category.TransactionType.INCOME);
+    private final Category food = category(2L, "Food", Category.TransactionType.EXPENSE);
+    private final Category rent = category(3L, "Rent", Category.TransactionType.EXPENSE);
+
+    @Test
+    void summarizesEveryMonthFromTheRollupBuckets() {
+        when(repository.findByUserIdAndMonthBetween(7L, FROM, TO)).thenReturn(List.of(
+                bucket(FROM, salary, "3000.00", 1),
+                bucket(FROM, food, "120.50", 4),
+                bucket(FROM, rent, "900.00", 1),
+                bucket(TO, food, "80.25", 2)));
+
+        SpendingSummary summary = service.summarize(7L, FROM, TO);
+
+        assertEquals(List.of(FROM, FROM.plusMonths(1), TO), summary.months());
+        assertEquals(new BigDecimal("3000.00"), summary.income(FROM));
+        assertEquals(new BigDecimal("1020.50"), summary.expenses(FROM));
+        assertEquals(Map.of(2L, new BigDecimal("120.50"), 3L, new BigDecimal("900.00")),
+                summary.expenseByCategory(FROM));
+        assertEquals(new BigDecimal("0.00"), summary.expenses(FROM.plusMonths(1)));
+        assertEquals(new BigDecimal("80.25"), summary.expenses(TO));
+        assertEquals("Rent", summary.categoryName(3L));
+    }
+
+    @Test
+    void skipsBucketsEmptiedByDeletes() {
+        when(repository.findByUserIdAndMonthBetween(7L, FROM, TO)).thenReturn(List.of(
+                bucket(TO, food, "0.00", 0),
+                bucket(TO, rent, "900.00", 1)));
+
+        SpendingSummary summary = service.summarize(7L, FROM, TO);
+
+        assertEquals(new BigDecimal("900.00"), summary.expenses(TO));
+        assertFalse(summary.expenseByCategory(TO).containsKey(2L));
+    }
+
+    private static Category category(Long id, String name, Category.TransactionType type) {
+        return Category.builder().id(id).name(name).type(type).build();
+    }
+
+    private static MonthlyRollup bucket(YearMonth month, Category category, String amount, long count) {
+        return MonthlyRollup.builder()
+                .yearMonth(month)
+                .type(category.getType())
+                .category(category)
+                .sumAmount(new BigDecimal(amount))
+                .txnCount(count)
+                .build();
+    }
+}
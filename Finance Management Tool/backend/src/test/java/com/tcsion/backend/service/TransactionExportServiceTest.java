@@ -0,0 +1,109 @@
+package com.tcsion.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tcsion.backend.entity.Category;
+import com.tcsion.backend.entity.Transaction;
+import com.tcsion.backend.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionExportServiceTest {
+
+    private final TransactionRepository repository = mock(TransactionRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final TransactionExportService service = new TransactionExportService(repository, entityManager,
+            new ObjectMapper().findAndRegisterModules(), mock(PlatformTransactionManager.class));
+
+    private final Category food = Category.builder().id(2L).name("Food, drinks").type(Category.TransactionType.EXPENSE).build();
+
+    @Test
+    void writesEveryRowAsCsvAndClosesTheCursor() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(repository.streamForExport(eq(7L), any(), any())).thenReturn(Stream.of(
+                transaction(1L, "12.50", "=cmd"),
+                transaction(2L, "3.00", null)).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(7L, TransactionExportService.Format.CSV, null, null, out);
+
+        assertEquals("id,date,type,category,amount,description,recurring\n"
+                        + "1,2026-03-01,EXPENSE,\"Food, drinks\",12.50,'=cmd,false\n"
+                        + "2,2026-03-01,EXPENSE,\"Food, drinks\",3.00,,false\n",
+                out.toString(StandardCharsets.UTF_8));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void writesOneJsonObjectPerLineAndClearsThePersistenceContextAsItGoes() {
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        when(repository.streamForExport(eq(7L), eq(start), any()))
+                .thenReturn(LongStream.rangeClosed(1, 1200).mapToObj(id -> transaction(id, "1.00", "row " + id)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(7L, TransactionExportService.Format.NDJSON, start, null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1200, lines.length);
+        assertTrue(lines[1199].contains("\"description\":\"row 1200\""));
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void quotesFieldsThatSpreadsheetsWouldEvaluate() {
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\")\"", TransactionExportService.csvField("=HYPERLINK(\"http://x\")"));
+        assertEquals("'=1+2", TransactionExportService.csvField("=1+2"));
+        assertEquals("'+44 transfer", TransactionExportService.csvField("+44 transfer"));
+        assertEquals("'-refund", TransactionExportService.csvField("-refund"));
+        assertEquals("'@SUM(A1)", TransactionExportService.csvField("@SUM(A1)"));
+        assertEquals("\"'=1,2\"", TransactionExportService.csvField("=1,2"));
+    }
+
+    @Test
+    void leavesOrdinaryFieldsAlone() {
+        assertEquals("Groceries", TransactionExportService.csvField("Groceries"));
+        assertEquals("Coffee - large", TransactionExportService.csvField("Coffee - large"));
+        assertEquals("\"Rent, May\"", TransactionExportService.csvField("Rent, May"));
+        assertEquals("\"say \"\"hi\"\"\"", TransactionExportService.csvField("say \"hi\""));
+        assertEquals("a b", TransactionExportService.csvField("a\nb"));
+        assertEquals("", TransactionExportService.csvField(null));
+    }
+
+    @Test
+    void recognisesFormulaPrefixes() {
+        assertTrue(TransactionExportService.startsLikeFormula("=A1"));
+        assertTrue(TransactionExportService.startsLikeFormula("\tx"));
+        assertFalse(TransactionExportService.startsLikeFormula(""));
+        assertFalse(TransactionExportService.startsLikeFormula("'=A1"));
+        assertFalse(TransactionExportService.startsLikeFormula("Salary"));
+    }
+
+    private Transaction transaction(Long id, String amount, String description) {
+        return Transaction.builder()
+                .id(id)
+                .amount(new BigDecimal(amount))
+                .type(Category.TransactionType.EXPENSE)
+                .category(food)
+                .description(description)
+                .transactionDate(LocalDate.of(2026, 3, 1))
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.dto.response.ImportResultResponse;
+import com.tcsion.backend.entity.Category;
+import com.tcsion.backend.entity.Transaction;
+import com.tcsion.backend.exception.BadRequestException;
+import com.tcsion.backend.repository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionImportServiceTest {
+
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final TransactionBatchWriter batchWriter = mock(TransactionBatchWriter.class);
+    private final LocalCategoryClassifier localCategoryClassifier = mock(LocalCategoryClassifier.class);
+    private final TransactionImportService service = new TransactionImportService(categoryRepository, batchWriter,
+            mock(PlatformTransactionManager.class), localCategoryClassifier);
+
+    private final List<String> saved = new ArrayList<>();
+
+    TransactionImportServiceTest() {
+        when(categoryRepository.findByUserIdOrIsSystemTrue(7L)).thenReturn(List.of(
+                Category.builder().id(1L).name("Food").type(Category.TransactionType.EXPENSE).isSystem(true).build(),
+                Category.builder().id(2L).name("Other Income").type(Category.TransactionType.INCOME).isSystem(true).build()));
+        // The database rejects any write that contains the "duplicate" row
+        doAnswer(invocation -> {
+            List<Transaction> rows = invocation.getArgument(1);
+            if (rows.stream().anyMatch(t -> "duplicate".equals(t.getDescription()))) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            rows.forEach(t -> saved.add(t.getDescription()));
+            return null;
+        }).when(batchWriter).persistAll(eq(7L), anyList());
+    }
+
+    @Test
+    void retriesARejectedChunkRowByRowAndReportsOnlyTheBadRows() throws IOException {
+        List<Long> progress = new ArrayList<>();
+
+        ImportResultResponse result = service.importCsv(7L, csv(
+                "date,amount,category,description",
+                "2026-03-01,-12.50,Food,lunch",
+                "2026-03-02,abc,Food,typo",
+                "",
+                "2026-03-03,-8.00,Food,duplicate",
+                "2026-03-04,2000,,salary"), r -> progress.add(r.getImported()));
+
+        assertEquals(4, result.getTotalRows());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of("lunch", "salary"), saved);
+        assertEquals(List.of(3L, 5L), result.getErrors().stream().map(ImportResultResponse.RowError::getRow).toList());
+        assertEquals("Row could not be saved", result.getErrors().get(1).getMessage());
+        assertEquals(List.of(2L), progress);
+        verify(localCategoryClassifier).evictUser(7L);
+    }
+
+    @Test
+    void infersTypeFromCategoryOrSignAndUndoesTheExportFormulaGuard() throws IOException {
+        List<Transaction> written = new ArrayList<>();
+        doAnswer(invocation -> written.addAll(invocation.getArgument(1)))
+                .when(batchWriter).persistAll(eq(7L), anyList());
+
+        service.importCsv(7L, csv(
+                "Date,Amount,Description,Category",
+                "2026-03-01,\"1,250.00\",'=bonus,",
+                "2026-03-02,45.10,market,Food"));
+
+        assertEquals(Category.TransactionType.INCOME, written.get(0).getType());
+        assertEquals(new BigDecimal("1250.00"), written.get(0).getAmount());
+        assertEquals("=bonus", written.get(0).getDescription());
+        assertEquals(Category.TransactionType.EXPENSE, written.get(1).getType());
+        assertEquals(1L, written.get(1).getCategory().getId());
+    }
+
+    @Test
+    void rejectsAHeaderWithoutDateAndAmount() {
+        assertThrows(BadRequestException.class, () -> service.importCsv(7L, csv("when,how much", "2026-03-01,1")));
+        verify(localCategoryClassifier, never()).evictUser(7L);
+    }
+
+    private static InputStream csv(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
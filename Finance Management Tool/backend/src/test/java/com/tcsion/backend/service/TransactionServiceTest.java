@@ -0,0 +1,201 @@
+package com.tcsion.backend.service;
+
+import com.tcsion.backend.cache.DashboardCache;
+import com.tcsion.backend.dto.request.TransactionRequest;
+import com.tcsion.backend.dto.response.BatchCreateResponse;
+import com.tcsion.backend.dto.response.CursorPage;
+import com.tcsion.backend.dto.response.TransactionResponse;
+import com.tcsion.backend.entity.Category;
+import com.tcsion.backend.entity.User;
+import com.tcsion.backend.exception.BadRequestException;
+import com.tcsion.backend.exception.ResourceNotFoundException;
+import com.tcsion.backend.repository.CategoryRepository;
+import com.tcsion.backend.repository.TransactionRepository;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate END = LocalDate.of(2026, 1, 31);
+
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final TransactionBatchWriter transactionBatchWriter = mock(TransactionBatchWriter.class);
+    private final Validator validator = mock(Validator.class);
+    private final TransactionService service = new TransactionService(transactionRepository,
+            mock(CategoryService.class), mock(ClassificationBatcher.class), mock(LocalCategoryClassifier.class),
+            mock(MonthlyRollupService.class), mock(DashboardCache.class), categoryRepository,
+            transactionBatchWriter, validator);
+
+    @Test
+    void readsASingleTransactionAsAProjection() {
+        TransactionResponse row = response(4L, START);
+        when(transactionRepository.findResponseById(4L, 7L)).thenReturn(Optional.of(row));
+
+        assertSame(row, service.getById(4L, 7L));
+        verify(transactionRepository, never()).findById(any());
+    }
+
+    @Test
+    void treatsAForeignOrDeletedTransactionAsMissing() {
+        when(transactionRepository.findResponseById(4L, 8L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getById(4L, 8L));
+    }
+
+    @Test
+    void pagesADateRangeNewestFirstWhenNoSortIsGiven() {
+        Page<TransactionResponse> page = new PageImpl<>(List.of(response(1L, END)));
+        when(transactionRepository.findResponsesBetween(eq(7L), eq(START), eq(END), any())).thenReturn(page);
+
+        assertSame(page, service.list(7L, START, END, PageRequest.of(2, 20)));
+
+        verify(transactionRepository).findResponsesBetween(7L, START, END,
+                PageRequest.of(2, 20, Sort.by(Sort.Direction.DESC, "transactionDate")));
+    }
+
+    @Test
+    void keepsTheClientSortForADateRange() {
+        Pageable byAmount = PageRequest.of(0, 10, Sort.by("amount"));
+        when(transactionRepository.findResponsesBetween(7L, START, END, byAmount)).thenReturn(Page.empty());
+
+        assertEquals(0, service.list(7L, START, END, byAmount).getTotalElements());
+    }
+
+    @Test
+    void pagesTheWholeHistoryWithoutADateRange() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(transactionRepository.findResponses(7L, pageable)).thenReturn(Page.empty());
+
+        service.list(7L, START, null, pageable);
+
+        verify(transactionRepository).findResponses(7L, pageable);
+    }
+
+    @Test
+    void nextCursorResumesAfterTheLastRowOfThePage() {
+        when(transactionRepository.findKeysetFirst(7L, Limit.of(3))).thenReturn(List.of(
+                response(30L, END), response(29L, END), response(12L, START)));
+
+        CursorPage<TransactionResponse> first = service.listByCursor(7L, null, 2);
+
+        assertEquals(List.of(30L, 29L), first.getContent().stream().map(TransactionResponse::getId).toList());
+        assertTrue(first.isHasMore());
+
+        when(transactionRepository.findKeysetAfter(7L, END, 29L, Limit.of(3))).thenReturn(List.of(response(12L, START)));
+
+        CursorPage<TransactionResponse> second = service.listByCursor(7L, first.getNextCursor(), 2);
+
+        assertEquals(List.of(12L), second.getContent().stream().map(TransactionResponse::getId).toList());
+        assertFalse(second.isHasMore());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void rejectsACursorItDidNotIssue() {
+        assertThrows(BadRequestException.class, () -> service.listByCursor(7L, "not-a-cursor", 20));
+    }
+
+    @Test
+    void savesTheValidItemsOfABatchAndReportsTheRestByIndex() {
+        Category food = Category.builder().id(2L).name("Food").type(Category.TransactionType.EXPENSE).isSystem(true).build();
+        Category othersIncome = Category.builder().id(9L).name("Side job").type(Category.TransactionType.INCOME)
+                .user(User.builder().id(8L).build()).build();
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(food, othersIncome));
+
+        List<TransactionRequest> requests = new ArrayList<>();
+        requests.add(request(2L, Category.TransactionType.EXPENSE));
+        requests.add(null);
+        requests.add(request(2L, Category.TransactionType.INCOME));
+        requests.add(request(9L, Category.TransactionType.INCOME));
+        requests.add(request(2L, Category.TransactionType.EXPENSE));
+
+        BatchCreateResponse response = service.createBatch(7L, requests);
+
+        assertEquals(2, response.getCreated());
+        assertEquals(3, response.getFailed());
+        List<BatchCreateResponse.ItemResult> results = response.getResults();
+        assertEquals("Food", results.get(0).getTransaction().getCategoryName());
+        assertEquals("Transaction is required", results.get(1).getError());
+        assertEquals("Category type does not match transaction type", results.get(2).getError());
+        assertEquals("Category not found with id: 9", results.get(3).getError());
+        assertEquals(4, results.get(4).getIndex());
+        verify(transactionBatchWriter).persistAll(eq(7L), anyList());
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatches() {
+        assertThrows(BadRequestException.class, () -> service.createBatch(7L, List.of()));
+        assertThrows(BadRequestException.class, () -> service.createBatch(7L,
+                Collections.nCopies(TransactionService.MAX_BATCH_SIZE + 1, request(2L, Category.TransactionType.EXPENSE))));
+        verify(transactionBatchWriter, never()).persistAll(any(), anyList());
+    }
+
+    @Test
+    void turnsSearchTextIntoAPrefixQuery() {
+        assertEquals("net:* & flix:*", TransactionService.toPrefixQuery("  Net-FLIX! "));
+        assertEquals("café:* & 42:*", TransactionService.toPrefixQuery("Café 42"));
+        assertNull(TransactionService.toPrefixQuery("&|!:*"));
+        assertNull(TransactionService.toPrefixQuery(null));
+    }
+
+    @Test
+    void returnsSearchHitsInRankOrder() {
+        Pageable page = PageRequest.of(0, 500);
+        when(transactionRepository.searchIds(7L, "rent:*", null, null, null, PageRequest.of(0, 100)))
+                .thenReturn(new PageImpl<>(List.of(5L, 3L, 9L), PageRequest.of(0, 100), 3));
+        when(transactionRepository.findResponsesByIds(List.of(5L, 3L, 9L)))
+                .thenReturn(List.of(response(3L, START), response(5L, START), response(9L, END)));
+
+        Page<TransactionResponse> hits = service.search(7L, "Rent", null, null, null, page);
+
+        assertEquals(List.of(5L, 3L, 9L), hits.getContent().stream().map(TransactionResponse::getId).toList());
+        assertEquals(3, hits.getTotalElements());
+    }
+
+    @Test
+    void rejectsSearchTextWithoutWords() {
+        assertThrows(BadRequestException.class, () -> service.search(7L, "!!", null, null, null, PageRequest.of(0, 20)));
+    }
+
+    private static TransactionRequest request(Long categoryId, Category.TransactionType type) {
+        return TransactionRequest.builder()
+                .amount(new BigDecimal("9.99"))
+                .type(type)
+                .categoryId(categoryId)
+                .transactionDate(START)
+                .build();
+    }
+
+    private static TransactionResponse response(Long id, LocalDate date) {
+        return TransactionResponse.builder().id(id).transactionDate(date).build();
+    }
+}
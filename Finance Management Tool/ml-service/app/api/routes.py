@@ -1,6 +1,6 @@
 from fastapi import APIRouter, HTTPException
-from app.schemas import ClassifyRequest, ClassifyResponse, PredictionInput, PredictionResponse, HealthScoreRequest, HealthScoreResponse
-from app.ml import classify_description, predict_spending, calculate_health_score
+from app.schemas import ClassifyRequest, ClassifyResponse, ClassifyBatchRequest, ClassifyBatchResponse, PredictionInput, PredictionResponse, HealthScoreRequest, HealthScoreResponse
+from app.ml import classify_description, classify_descriptions, predict_spending, calculate_health_score
 
 router = APIRouter()
 
@@ -12,10 +12,20 @@ def health():
 
 @router.post("/classify", response_model=ClassifyResponse)
 def classify(req: ClassifyRequest):
-    category, confidence = classify_description(req.description)
+    # classify_description also returns a reason
+    category, confidence = classify_description(req.description)[:2]
     return ClassifyResponse(predicted_category=category, confidence=confidence)
 
 
+@router.post("/classify/batch", response_model=ClassifyBatchResponse)
+def classify_batch(req: ClassifyBatchRequest):
+    results = classify_descriptions(req.descriptions)
+    return ClassifyBatchResponse(results=[
+        ClassifyResponse(predicted_category=category, confidence=confidence)
+        for category, confidence, _ in results
+    ])
+
+
 @router.post("/predict", response_model=PredictionResponse)
 def predict(req: PredictionInput):
     tx_list = [t.model_dump() for t in req.transactions]
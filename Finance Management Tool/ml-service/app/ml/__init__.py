@@ -1,3 +1,3 @@
-from .classification import classify_description
+from .classification import classify_description, classify_descriptions
 from .prediction import predict_spending
 from .financial_scoring import calculate_health_score
@@ -4,6 +4,16 @@ from .preprocessing import clean_text
 
 from app.config import ML_MODELS_DIR, DEFAULT_CATEGORIES
 
+_KEYWORDS = {
+    "Food & Dining": ["food", "grocery", "restaurant", "cafe", "coffee", "tea", "uber eats", "doordash", "walmart", "costco"],
+    "Transportation": ["gas", "uber", "lyft", "parking", "toll", "transit", "fuel", "bus", "train", "flight"],
+    "Shopping": ["amazon", "store", "shop", "mall", "clothing", "shoes"],
+    "Utilities": ["electric", "water", "internet", "phone", "utility", "bill", "wifi"],
+    "Healthcare": ["pharmacy", "doctor", "hospital", "medical", "health", "dentist"],
+    "Entertainment": ["netflix", "spotify", "movie", "game", "subscription", "ticket", "concert"],
+    "Education": ["course", "tuition", "book", "school", "university", "class"],
+}
+
 
 def _get_classifier_path():
     path = os.path.join(ML_MODELS_DIR, "category_classifier.pkl")
@@ -19,37 +29,60 @@ def _get_vectorizer_path():
     return None
 
 
-def classify_description(description: str):
-    cleaned = clean_text(description or "")
-    if not cleaned:
-        return "Other Expense", 0.5
-
+def _load_model():
+    """The trained classifier and its vectorizer, or None when either is
+    missing or cannot be read."""
     clf_path = _get_classifier_path()
     vec_path = _get_vectorizer_path()
-    if clf_path and vec_path:
+    if not (clf_path and vec_path):
+        return None
+    try:
+        return joblib.load(clf_path), joblib.load(vec_path)
+    except Exception:
+        return None
+
+
+def _predict(model, texts: list[str]):
+    clf, vectorizer = model
+    X = vectorizer.transform(texts)
+    classes = list(clf.classes_)
+    results = []
+    for pred, proba in zip(clf.predict(X), clf.predict_proba(X)):
+        confidence = float(proba[classes.index(pred)])
+        reason = "Pattern match" if confidence > 0.8 else "Best guess based on history"
+        results.append((pred, confidence, reason))
+    return results
+
+
+def classify_description(description: str):
+    return classify_descriptions([description])[0]
+
+
+def classify_descriptions(descriptions: list[str]):
+    """Classifies every description with one model load and one vectorizer
+    call; falls back to keyword matching when there is no usable model."""
+    cleaned = [clean_text(d or "") for d in descriptions]
+    results = [("Other Expense", 0.5, "Empty description") for _ in cleaned]
+    pending = [i for i, text in enumerate(cleaned) if text]
+    if not pending:
+        return results
+
+    model = _load_model()
+    if model is not None:
         try:
-            clf = joblib.load(clf_path)
-            vectorizer = joblib.load(vec_path)
-            X = vectorizer.transform([cleaned])
-            pred = clf.predict(X)[0]
-            proba = clf.predict_proba(X)[0]
-            idx = list(clf.classes_).index(pred)
-            confidence = float(proba[idx])
-            reason = "Pattern match" if confidence > 0.8 else "Best guess based on history"
-            return pred, confidence, f"{reason}"
+            for i, result in zip(pending, _predict(model, [cleaned[i] for i in pending])):
+                results[i] = result
+            return results
         except Exception:
             pass
 
-    keywords = {
-        "Food & Dining": ["food", "grocery", "restaurant", "cafe", "coffee", "tea", "uber eats", "doordash", "walmart", "costco"],
-        "Transportation": ["gas", "uber", "lyft", "parking", "toll", "transit", "fuel", "bus", "train", "flight"],
-        "Shopping": ["amazon", "store", "shop", "mall", "clothing", "shoes"],
-        "Utilities": ["electric", "water", "internet", "phone", "utility", "bill", "wifi"],
-        "Healthcare": ["pharmacy", "doctor", "hospital", "medical", "health", "dentist"],
-        "Entertainment": ["netflix", "spotify", "movie", "game", "subscription", "ticket", "concert"],
-        "Education": ["course", "tuition", "book", "school", "university", "class"],
-    }
-    for category, words in keywords.items():
+    for i in pending:
+        results[i] = _keyword_match(cleaned[i])
+    return results
+
+
+def _keyword_match(cleaned: str):
+    for category, words in _KEYWORDS.items():
         for w in words:
             if w in cleaned:
                 return category, 0.8, f"Matched keyword '{w}'"
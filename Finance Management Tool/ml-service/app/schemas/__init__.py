@@ -1,2 +1,2 @@
-from .transaction import ClassifyRequest, ClassifyResponse, PredictionInput, PredictionResponse, ParseRequest, ParseResponse
+from .transaction import ClassifyRequest, ClassifyResponse, ClassifyBatchRequest, ClassifyBatchResponse, PredictionInput, PredictionResponse, ParseRequest, ParseResponse
 from .health import HealthScoreRequest, HealthScoreResponse
@@ -1,4 +1,4 @@
-from pydantic import BaseModel
+from pydantic import BaseModel, Field
 from typing import Optional
 from datetime import date
 
@@ -12,6 +12,14 @@ class ClassifyResponse(BaseModel):
     confidence: float
 
 
+class ClassifyBatchRequest(BaseModel):
+    descriptions: list[str] = Field(default_factory=list, max_length=1000)
+
+
+class ClassifyBatchResponse(BaseModel):
+    results: list[ClassifyResponse]
+
+
 class TransactionInput(BaseModel):
     category: Optional[str] = None
     description: Optional[str] = None